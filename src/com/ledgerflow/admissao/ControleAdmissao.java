@@ -0,0 +1,388 @@
+package com.ledgerflow.admissao;
+
+import com.ledgerflow.enums.PrioridadeOperacao;
+import com.ledgerflow.enums.ResultadoOperacao;
+import com.ledgerflow.enums.TipoOperacao;
+import com.ledgerflow.exceptions.SobrecargaException;
+import com.ledgerflow.model.ContaBancaria;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Controle de admissão na entrada das operações bancárias.
+ * As operações são distribuídas em partições pela conta de origem, cada uma com uma fila
+ * limitada e uma thread executora; operações da mesma conta não disputam a trava da conta
+ * entre si e seguem na ordem de chegada (FIFO por conta). A prioridade vale entre contas:
+ * a próxima conta atendida é a cuja operação da vez tem a maior prioridade, e uma operação
+ * prioritária nunca passa à frente de outra mais antiga da mesma conta (um PIX pequeno não
+ * é debitado antes do depósito que o precede). Há ainda um {@link LimiteAdaptativo} global
+ * de concorrência.
+ * Cada prioridade só é admitida enquanto a fila da partição está abaixo de uma fração da
+ * capacidade ({@code BAIXA} 50%, {@code NORMAL} 75%, {@code ALTA} 100%): sob sobrecarga os
+ * lotes são recusados primeiro e sobra espaço para consultas e PIX pequenos.
+ * A recusa é imediata: o futuro retornado já vem falho com uma {@link SobrecargaException}
+ * pré-alocada, sem esperar nem capturar pilha.
+ */
+public final class ControleAdmissao implements AutoCloseable {
+
+    public static final int CAPACIDADE_PADRAO = 1_024;
+    public static final double PIX_PEQUENO_PADRAO = 1_000.0;
+    public static final Duration LATENCIA_ALVO_PADRAO = Duration.ofMillis(2);
+
+    private static final SobrecargaException SOBRECARGA = new SobrecargaException("Sistema sobrecarregado: operação recusada.");
+    private static final PrioridadeOperacao[] PRIORIDADES = PrioridadeOperacao.values();
+    private static final double[] FRACAO_ADMISSAO = {1.0, 0.75, 0.5};
+
+    private static final class Tarefa<T> {
+        private final PrioridadeOperacao prioridade;
+        private final Supplier<T> operacao;
+        private final CompletableFuture<T> resultado = new CompletableFuture<>();
+        private T valor;
+        private Throwable erro;
+
+        private Tarefa(PrioridadeOperacao prioridade, Supplier<T> operacao){
+            this.prioridade = prioridade;
+            this.operacao = operacao;
+        }
+
+        // captura também Error: a thread da partição sobrevive e o futuro sempre é concluído
+        private void executar(){
+            try{
+                valor = operacao.get();
+            }
+            catch(Throwable e){
+                erro = e;
+            }
+        }
+
+        // separado da execução: quem espera o futuro já encontra vaga e métricas atualizadas
+        private void entregar(){
+            if(erro != null){
+                resultado.completeExceptionally(erro);
+            } else {
+                resultado.complete(valor);
+            }
+        }
+    }
+
+    // operações pendentes de uma conta, em ordem de chegada
+    private static final class FilaConta {
+        private final String chave;
+        private final ArrayDeque<Tarefa<?>> tarefas = new ArrayDeque<>();
+
+        private FilaConta(String chave){
+            this.chave = chave;
+        }
+    }
+
+    private final class Particao implements Runnable {
+        private final ReentrantLock trava = new ReentrantLock();
+        private final Condition naoVazia = trava.newCondition();
+        private final Map<String, FilaConta> contas = new HashMap<>();
+        // contas com operação pendente, pela prioridade da operação da vez
+        private final List<ArrayDeque<FilaConta>> prontas = new ArrayList<>(PRIORIDADES.length);
+        private final int[] pendentesPorPrioridade = new int[PRIORIDADES.length];
+        private final int[] limiares = new int[PRIORIDADES.length];
+        private int profundidade;
+        private int profundidadeMaxima;
+
+        private Particao(){
+            for (int i = 0; i < PRIORIDADES.length; i++) {
+                prontas.add(new ArrayDeque<>());
+                limiares[i] = Math.max(1, (int) (capacidade * FRACAO_ADMISSAO[i]));
+            }
+        }
+
+        private boolean admitir(String chave, Tarefa<?> tarefa){
+            trava.lock();
+            try{
+                if(fechado || profundidade >= limiares[tarefa.prioridade.ordinal()]){
+                    return false;
+                }
+                FilaConta conta = contas.computeIfAbsent(chave, FilaConta::new);
+                conta.tarefas.add(tarefa);
+                if(conta.tarefas.size() == 1){
+                    prontas.get(tarefa.prioridade.ordinal()).add(conta);
+                }
+                pendentesPorPrioridade[tarefa.prioridade.ordinal()]++;
+                profundidadeMaxima = Math.max(profundidadeMaxima, ++profundidade);
+                naoVazia.signal();
+                return true;
+            }
+            finally{
+                trava.unlock();
+            }
+        }
+
+        private Tarefa<?> proxima() throws InterruptedException{
+            trava.lock();
+            try{
+                while(profundidade == 0){
+                    if(fechado){
+                        return null;
+                    }
+                    naoVazia.await();
+                }
+                for (ArrayDeque<FilaConta> fila : prontas) {
+                    FilaConta conta = fila.poll();
+                    if(conta == null){
+                        continue;
+                    }
+                    Tarefa<?> tarefa = conta.tarefas.poll();
+                    if(conta.tarefas.isEmpty()){
+                        contas.remove(conta.chave);
+                    } else {
+                        // volta ao fim da fila da prioridade da próxima operação da conta
+                        prontas.get(conta.tarefas.peek().prioridade.ordinal()).add(conta);
+                    }
+                    pendentesPorPrioridade[tarefa.prioridade.ordinal()]--;
+                    profundidade--;
+                    return tarefa;
+                }
+                throw new IllegalStateException("Profundidade da fila inconsistente.");
+            }
+            finally{
+                trava.unlock();
+            }
+        }
+
+        @Override
+        public void run(){
+            try{
+                Tarefa<?> tarefa;
+                while((tarefa = proxima()) != null){
+                    try{
+                        limite.adquirir();
+                    }
+                    catch(InterruptedException e){
+                        tarefa.resultado.completeExceptionally(e);
+                        throw e;
+                    }
+                    long inicio = System.nanoTime();
+                    try{
+                        tarefa.executar();
+                    }
+                    finally{
+                        limite.liberar(System.nanoTime() - inicio);
+                    }
+                    concluidas.increment();
+                    tarefa.entregar();
+                }
+            }
+            catch(InterruptedException e){
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private int profundidade(PrioridadeOperacao prioridade){
+            trava.lock();
+            try{
+                return prioridade == null ? profundidade : pendentesPorPrioridade[prioridade.ordinal()];
+            }
+            finally{
+                trava.unlock();
+            }
+        }
+
+        private int profundidadeMaxima(){
+            trava.lock();
+            try{
+                return profundidadeMaxima;
+            }
+            finally{
+                trava.unlock();
+            }
+        }
+
+        private void fechar(){
+            trava.lock();
+            try{
+                naoVazia.signal();
+            }
+            finally{
+                trava.unlock();
+            }
+        }
+    }
+
+    private final int capacidade;
+    private final double pixPequeno;
+    private final LimiteAdaptativo limite;
+    private final Particao[] particoes;
+    private final Thread[] executoras;
+    private final LongAdder[] aceitas = new LongAdder[PRIORIDADES.length];
+    private final LongAdder[] recusadas = new LongAdder[PRIORIDADES.length];
+    private final LongAdder concluidas = new LongAdder();
+    private volatile boolean fechado;
+
+    /**
+     * Cria o controle com duas partições por processador, filas de {@value #CAPACIDADE_PADRAO}
+     * operações e latência alvo de 2 ms.
+     */
+    public ControleAdmissao(){
+        this(2 * Runtime.getRuntime().availableProcessors(), CAPACIDADE_PADRAO, PIX_PEQUENO_PADRAO,
+                new LimiteAdaptativo(1, 2 * Runtime.getRuntime().availableProcessors(), LATENCIA_ALVO_PADRAO));
+    }
+
+    /**
+     * @param particoes Número de partições (filas e threads executoras).
+     * @param capacidade Máximo de operações pendentes por partição.
+     * @param pixPequeno Valor até o qual um PIX tem prioridade alta.
+     * @param limite Limite de concorrência compartilhado pelas partições.
+     */
+    public ControleAdmissao(int particoes, int capacidade, double pixPequeno, LimiteAdaptativo limite){
+        if(particoes <= 0 || capacidade <= 0){
+            throw new IllegalArgumentException("Partições e capacidade devem ser positivas.");
+        }
+        this.capacidade = capacidade;
+        this.pixPequeno = pixPequeno;
+        this.limite = limite;
+        for (int i = 0; i < PRIORIDADES.length; i++) {
+            aceitas[i] = new LongAdder();
+            recusadas[i] = new LongAdder();
+        }
+        this.particoes = new Particao[particoes];
+        this.executoras = new Thread[particoes];
+        for (int i = 0; i < particoes; i++) {
+            this.particoes[i] = new Particao();
+            executoras[i] = new Thread(this.particoes[i], "admissao-" + i);
+            executoras[i].setDaemon(true);
+            executoras[i].start();
+        }
+    }
+
+    /**
+     * Submete uma operação à partição da chave informada.
+     * @param prioridade Prioridade de admissão e de execução (entre chaves diferentes).
+     * @param chave Chave de partição e de ordenação (normalmente o número da conta de origem):
+     *              operações com a mesma chave executam na ordem de submissão.
+     * @param operacao Operação a executar na thread da partição.
+     * @return Futuro com o resultado; falho com {@link SobrecargaException} se recusado.
+     */
+    public <T> CompletableFuture<T> submeter(PrioridadeOperacao prioridade, String chave, Supplier<T> operacao){
+        Tarefa<T> tarefa = new Tarefa<>(prioridade, operacao);
+        if(!particaoDe(chave).admitir(chave, tarefa)){
+            recusadas[prioridade.ordinal()].increment();
+            return CompletableFuture.failedFuture(SOBRECARGA);
+        }
+        aceitas[prioridade.ordinal()].increment();
+        return tarefa.resultado;
+    }
+
+    /** Consulta de saldo, com prioridade alta. */
+    public CompletableFuture<Double> consultarSaldo(ContaBancaria conta){
+        return submeter(PrioridadeOperacao.ALTA, conta.getNumero(), conta::getSaldo);
+    }
+
+    public CompletableFuture<ResultadoOperacao> depositar(ContaBancaria conta, double valor){
+        return submeter(classificar(TipoOperacao.DEPOSITO, valor), conta.getNumero(), () -> conta.tentarDepositar(valor));
+    }
+
+    public CompletableFuture<ResultadoOperacao> sacar(ContaBancaria conta, double valor){
+        return submeter(classificar(TipoOperacao.SAQUE, valor), conta.getNumero(), () -> conta.tentarSacar(valor));
+    }
+
+    /** Transferência particionada pela origem; PIX pequenos têm prioridade alta. */
+    public CompletableFuture<ResultadoOperacao> transferir(ContaBancaria origem, double valor, ContaBancaria destino){
+        return submeter(classificar(TipoOperacao.PIX, valor), origem.getNumero(), () -> origem.tentarTransferir(valor, destino));
+    }
+
+    /**
+     * @return Prioridade padrão do tipo de operação: consultas de saldo e PIX até o limite
+     *         de valor pequeno são altas, extratos são lotes (baixa) e o restante é normal.
+     */
+    public PrioridadeOperacao classificar(TipoOperacao tipo, double valor){
+        return switch (tipo) {
+            case CONSULTA_SALDO -> PrioridadeOperacao.ALTA;
+            case PIX -> valor <= pixPequeno ? PrioridadeOperacao.ALTA : PrioridadeOperacao.NORMAL;
+            case DEPOSITO, SAQUE -> PrioridadeOperacao.NORMAL;
+            case EXTRATO -> PrioridadeOperacao.BAIXA;
+        };
+    }
+
+    private Particao particaoDe(String chave){
+        int h = chave.hashCode();
+        h ^= h >>> 16;
+        return particoes[(h & 0x7fffffff) % particoes.length];
+    }
+
+    /** Recusa novas operações, executa as que já estão nas filas e encerra as threads. */
+    @Override
+    public void close(){
+        fechado = true;
+        for (Particao particao : particoes) {
+            particao.fechar();
+        }
+        try{
+            for (Thread executora : executoras) {
+                executora.join();
+            }
+        }
+        catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Métricas:
+
+    /** @return Operações pendentes em todas as filas. */
+    public int getProfundidade(){
+        return getProfundidade(null);
+    }
+
+    /** @return Operações pendentes da prioridade (null para todas). */
+    public int getProfundidade(PrioridadeOperacao prioridade){
+        int total = 0;
+        for (Particao particao : particoes) {
+            total += particao.profundidade(prioridade);
+        }
+        return total;
+    }
+
+    /** @return Maior profundidade observada em uma única partição. */
+    public int getProfundidadeMaxima(){
+        int maxima = 0;
+        for (Particao particao : particoes) {
+            maxima = Math.max(maxima, particao.profundidadeMaxima());
+        }
+        return maxima;
+    }
+
+    public long getAceitas(PrioridadeOperacao prioridade){
+        return aceitas[prioridade.ordinal()].sum();
+    }
+
+    /** @return Operações recusadas na entrada por sobrecarga. */
+    public long getRecusadas(PrioridadeOperacao prioridade){
+        return recusadas[prioridade.ordinal()].sum();
+    }
+
+    public long getConcluidas(){
+        return concluidas.sum();
+    }
+
+    public LimiteAdaptativo getLimite(){
+        return limite;
+    }
+
+    @Override
+    public String toString(){
+        StringBuilder sb = new StringBuilder("ControleAdmissao[fila=").append(getProfundidade())
+                .append(", filaMax=").append(getProfundidadeMaxima())
+                .append(", limite=").append(limite.getLimite());
+        for (PrioridadeOperacao p : PRIORIDADES) {
+            sb.append(", ").append(p).append("=").append(getAceitas(p)).append(" aceitas/").append(getRecusadas(p)).append(" recusadas");
+        }
+        return sb.append("]").toString();
+    }
+}
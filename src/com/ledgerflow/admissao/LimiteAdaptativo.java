@@ -0,0 +1,116 @@
+package com.ledgerflow.admissao;
+
+import java.time.Duration;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limite de concorrência ajustado pela latência observada (AIMD): enquanto as operações
+ * terminam dentro da latência alvo, o limite cresce cerca de uma unidade a cada
+ * {@code limite} conclusões; quando uma operação passa do alvo, o limite é multiplicado
+ * por {@value #FATOR_REDUCAO}, no máximo uma vez por janela de {@code limite} conclusões
+ * (as conclusões que já estavam em voo não reduzem de novo).
+ * Mais operações simultâneas que o necessário só aumentam a disputa pelas travas das
+ * contas; o limite encontra a concorrência em que a latência ainda é aceitável.
+ */
+public final class LimiteAdaptativo {
+
+    private static final double FATOR_REDUCAO = 0.9;
+
+    private final int minimo;
+    private final int maximo;
+    private final long alvoNanos;
+
+    private final ReentrantLock trava = new ReentrantLock();
+    private final Condition liberado = trava.newCondition();
+    private double limite;
+    private int emExecucao;
+    private long desdeReducao;
+    private long reducoes;
+
+    /**
+     * @param minimo Limite mínimo (pelo menos 1).
+     * @param maximo Limite máximo; também é o limite inicial.
+     * @param latenciaAlvo Latência de execução acima da qual o limite é reduzido.
+     */
+    public LimiteAdaptativo(int minimo, int maximo, Duration latenciaAlvo){
+        if(minimo < 1 || maximo < minimo){
+            throw new IllegalArgumentException("Limites de concorrência inválidos: " + minimo + ".." + maximo);
+        }
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.alvoNanos = latenciaAlvo.toNanos();
+        this.limite = maximo;
+    }
+
+    /** Espera uma vaga dentro do limite atual. */
+    public void adquirir() throws InterruptedException{
+        trava.lock();
+        try{
+            while(emExecucao >= (int) limite){
+                liberado.await();
+            }
+            emExecucao++;
+        }
+        finally{
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Devolve a vaga e ajusta o limite.
+     * @param latenciaNanos Tempo de execução da operação.
+     */
+    public void liberar(long latenciaNanos){
+        trava.lock();
+        try{
+            emExecucao--;
+            desdeReducao++;
+            if(latenciaNanos > alvoNanos){
+                if(desdeReducao >= limite){
+                    limite = Math.max(minimo, limite * FATOR_REDUCAO);
+                    desdeReducao = 0;
+                    reducoes++;
+                }
+            } else {
+                limite = Math.min(maximo, limite + 1.0 / limite);
+            }
+            liberado.signalAll();
+        }
+        finally{
+            trava.unlock();
+        }
+    }
+
+    /** @return Limite atual (parte inteira). */
+    public int getLimite(){
+        trava.lock();
+        try{
+            return (int) limite;
+        }
+        finally{
+            trava.unlock();
+        }
+    }
+
+    public int getEmExecucao(){
+        trava.lock();
+        try{
+            return emExecucao;
+        }
+        finally{
+            trava.unlock();
+        }
+    }
+
+    /** @return Quantas vezes o limite foi reduzido por latência acima do alvo. */
+    public long getReducoes(){
+        trava.lock();
+        try{
+            return reducoes;
+        }
+        finally{
+            trava.unlock();
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.ledgerflow.agendamento;
+
+import com.ledgerflow.enums.Recorrencia;
+import com.ledgerflow.enums.ResultadoOperacao;
+import com.ledgerflow.enums.StatusAgendamento;
+import com.ledgerflow.model.ContaBancaria;
+import com.ledgerflow.model.Transacao;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Motor de PIX agendado e recorrente.
+ * Os agendamentos pendentes ficam em uma {@link RodaTemporizacao} hierárquica
+ * (inserção e cancelamento O(1)); a cada processamento os vencidos são coletados
+ * em lote e executados via {@link ContaBancaria#tentarTransferir}. Falhas por saldo
+ * insuficiente são reagendadas até o limite de retentativas.
+ * Com journal configurado, os pendentes sobrevivem a reinícios. Antes das
+ * transferências de um lote, todas as ocorrências vencidas são marcadas como em execução
+ * no journal (um fsync por lote) e cada transferência leva um ID estável por ocorrência;
+ * os resultados são gravados com o fsync do fim do lote. Na recuperação, uma ocorrência
+ * marcada cujo ID já consta no histórico da origem é dada como executada, em vez de
+ * ser paga de novo.
+ */
+public class AgendadorPix {
+
+    /** Resolução da roda de temporização. */
+    private static final long DURACAO_TICK_MS = 1000;
+
+    public static final int MAX_RETENTATIVAS_PADRAO = 3;
+    public static final Duration INTERVALO_RETENTATIVA_PADRAO = Duration.ofHours(1);
+
+    private final Map<String, ContaBancaria> contasPorNumero;
+    private final Clock relogio;
+    private final JournalAgendamentos journal;
+    private final RodaTemporizacao<AgendamentoPix> roda;
+    private final Map<String, AgendamentoPix> pendentes = new HashMap<>();
+    private final List<AgendamentoPix> lote = new ArrayList<>();
+
+    private int maxRetentativas = MAX_RETENTATIVAS_PADRAO;
+    private Duration intervaloRetentativa = INTERVALO_RETENTATIVA_PADRAO;
+
+    private long totalExecutados;
+    private long totalRetentativas;
+    private long totalFalhas;
+
+    /**
+     * Agendador somente em memória.
+     * @param contasPorNumero Contas do sistema indexadas pelo número.
+     * @param relogio Fonte de tempo (permite simular datas em testes e benchmarks).
+     */
+    public AgendadorPix(Map<String, ContaBancaria> contasPorNumero, Clock relogio){
+        this(contasPorNumero, relogio, null);
+    }
+
+    /**
+     * Agendador persistente: recupera os pendentes do journal e passa a registrar nele.
+     * @param arquivoJournal Arquivo do journal (criado se não existir).
+     */
+    public AgendadorPix(Map<String, ContaBancaria> contasPorNumero, Clock relogio, Path arquivoJournal){
+        this.contasPorNumero = contasPorNumero;
+        this.relogio = relogio;
+        this.roda = new RodaTemporizacao<>(DURACAO_TICK_MS, relogio.millis());
+        this.journal = arquivoJournal == null ? null : new JournalAgendamentos(arquivoJournal);
+
+        if(journal != null){
+            for (AgendamentoPix ag : journal.recuperar()) {
+                if(ag.emExecucao && jaExecutada(ag)){
+                    // queda entre a transferência e a gravação do resultado
+                    if(!ag.avancarOcorrencia()){
+                        ag.setStatus(StatusAgendamento.EXECUTADO);
+                        journal.registrarFim(ag);
+                        continue;
+                    }
+                    journal.registrarProgresso(ag);
+                }
+                ag.emExecucao = false;
+                inserir(ag);
+            }
+            journal.sincronizar();
+        }
+    }
+
+    /**
+     * Configura a política de retentativa para saldo insuficiente.
+     * @param maxRetentativas Quantas vezes uma ocorrência é reexecutada antes de falhar.
+     * @param intervalo Espera entre retentativas.
+     */
+    public synchronized void configurarRetentativas(int maxRetentativas, Duration intervalo){
+        if(maxRetentativas < 0 || intervalo.isNegative() || intervalo.isZero()){
+            throw new IllegalArgumentException("Política de retentativa inválida.");
+        }
+        this.maxRetentativas = maxRetentativas;
+        this.intervaloRetentativa = intervalo;
+    }
+
+    /**
+     * Cadastra um PIX agendado.
+     * @param numeroOrigem Número da conta que será debitada.
+     * @param numeroDestino Número da conta que receberá o crédito.
+     * @param valor Quantia de cada ocorrência.
+     * @param primeiraExecucao Data/hora da primeira ocorrência (base da recorrência).
+     * @param recorrencia UNICA, SEMANAL ou MENSAL.
+     * @return O agendamento criado.
+     * @throws IllegalArgumentException Se o valor for inválido, as contas não existirem ou forem a mesma.
+     */
+    public synchronized AgendamentoPix agendar(String numeroOrigem, String numeroDestino, double valor,
+                                               LocalDateTime primeiraExecucao, Recorrencia recorrencia){
+        if(valor <= 0){
+            throw new IllegalArgumentException("O valor deve ser maior que zero.");
+        }
+        if(!contasPorNumero.containsKey(numeroOrigem) || !contasPorNumero.containsKey(numeroDestino)){
+            throw new IllegalArgumentException("Conta de origem ou destino não encontrada.");
+        }
+        if(numeroOrigem.equals(numeroDestino)){
+            throw new IllegalArgumentException("Uma conta não pode transferir valores para si mesma.");
+        }
+
+        AgendamentoPix ag = new AgendamentoPix(UUID.randomUUID().toString(), numeroOrigem, numeroDestino,
+                valor, recorrencia, primeiraExecucao);
+        inserir(ag);
+        if(journal != null){
+            journal.registrarNovo(ag);
+            journal.sincronizar();
+        }
+        return ag;
+    }
+
+    /**
+     * Cancela um agendamento pendente (todas as ocorrências futuras).
+     * @return true se o agendamento existia e foi cancelado.
+     */
+    public synchronized boolean cancelar(String idAgendamento){
+        AgendamentoPix ag = pendentes.remove(idAgendamento);
+        if(ag == null){
+            return false;
+        }
+        roda.cancelar(ag.entrada);
+        ag.setStatus(StatusAgendamento.CANCELADO);
+        if(journal != null){
+            journal.registrarFim(ag);
+            journal.sincronizar();
+        }
+        return true;
+    }
+
+    /**
+     * Executa os agendamentos vencidos até o instante atual do relógio.
+     * @return Quantidade de transferências efetivadas neste processamento.
+     */
+    public int processarPendentes(){
+        return processarAte(LocalDateTime.now(relogio));
+    }
+
+    /**
+     * Executa, em lote, todos os agendamentos vencidos até o instante informado.
+     * @return Quantidade de transferências efetivadas neste processamento.
+     */
+    public synchronized int processarAte(LocalDateTime instante){
+        lote.clear();
+        roda.avancarAte(emMillis(instante), lote::add);
+
+        boolean registrar = journal != null && !lote.isEmpty();
+        if(registrar){
+            // marcas do lote inteiro com um único fsync, antes de qualquer débito
+            for (AgendamentoPix ag : lote) {
+                journal.registrarExecucao(ag);
+            }
+            journal.sincronizar();
+        }
+        int executados = 0;
+        for (AgendamentoPix ag : lote) {
+            if(executar(ag, instante)){
+                executados++;
+            }
+        }
+        lote.clear();
+
+        if(registrar){
+            journal.sincronizar();
+        }
+        totalExecutados += executados;
+        return executados;
+    }
+
+    /** @return O agendamento pendente com o ID informado, ou null. */
+    public synchronized AgendamentoPix buscar(String idAgendamento){
+        return pendentes.get(idAgendamento);
+    }
+
+    public synchronized int getQuantidadePendentes(){
+        return pendentes.size();
+    }
+
+    public synchronized long getTotalExecutados(){
+        return totalExecutados;
+    }
+
+    public synchronized long getTotalRetentativas(){
+        return totalRetentativas;
+    }
+
+    public synchronized long getTotalFalhas(){
+        return totalFalhas;
+    }
+
+    /** Fecha o journal (quando houver). */
+    public synchronized void encerrar(){
+        if(journal != null){
+            journal.close();
+        }
+    }
+
+    // --- EXECUÇÃO ---
+
+    private boolean executar(AgendamentoPix ag, LocalDateTime agora){
+        ContaBancaria origem = contasPorNumero.get(ag.getNumeroContaOrigem());
+        ContaBancaria destino = contasPorNumero.get(ag.getNumeroContaDestino());
+        if(origem == null || destino == null){
+            finalizar(ag, StatusAgendamento.FALHOU);
+            return false;
+        }
+
+        ResultadoOperacao resultado = origem.tentarTransferir(ag.getValor(), destino, ag.getIdTransacaoOcorrencia());
+        if(resultado == ResultadoOperacao.SALDO_INSUFICIENTE || resultado == ResultadoOperacao.LIMITE_EXCEDIDO){
+            if(ag.getTentativas() < maxRetentativas){
+                totalRetentativas++;
+                ag.registrarTentativa(agora.plus(intervaloRetentativa));
+                reinserir(ag);
+            } else {
+                totalFalhas++;
+                proximaOcorrenciaOuFim(ag, StatusAgendamento.FALHOU);
+            }
+            return false;
+        }
+        if(resultado != ResultadoOperacao.OK){
+            totalFalhas++;
+            finalizar(ag, StatusAgendamento.FALHOU);
+            return false;
+        }
+
+        proximaOcorrenciaOuFim(ag, StatusAgendamento.EXECUTADO);
+        return true;
+    }
+
+    // procura a transferência da ocorrência no histórico da origem
+    private boolean jaExecutada(AgendamentoPix ag){
+        ContaBancaria origem = contasPorNumero.get(ag.getNumeroContaOrigem());
+        if(origem == null){
+            return false;
+        }
+        String idTransacao = ag.getIdTransacaoOcorrencia();
+        for (Transacao t : origem.getTransacoesAPartirDe(0)) {
+            if(idTransacao.equals(t.getId())){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // recorrentes seguem para a próxima ocorrência mesmo quando a atual falha
+    private void proximaOcorrenciaOuFim(AgendamentoPix ag, StatusAgendamento statusFinal){
+        if(ag.avancarOcorrencia()){
+            reinserir(ag);
+        } else {
+            finalizar(ag, statusFinal);
+        }
+    }
+
+    private void inserir(AgendamentoPix ag){
+        ag.entrada = roda.agendar(ag, emMillis(ag.getProximaExecucao()));
+        pendentes.put(ag.getId(), ag);
+    }
+
+    private void reinserir(AgendamentoPix ag){
+        ag.entrada = roda.agendar(ag, emMillis(ag.getProximaExecucao()));
+        if(journal != null){
+            journal.registrarProgresso(ag);
+        }
+    }
+
+    private void finalizar(AgendamentoPix ag, StatusAgendamento status){
+        pendentes.remove(ag.getId());
+        ag.setStatus(status);
+        if(journal != null){
+            journal.registrarFim(ag);
+        }
+    }
+
+    private long emMillis(LocalDateTime dataHora){
+        return dataHora.atZone(relogio.getZone()).toInstant().toEpochMilli();
+    }
+}
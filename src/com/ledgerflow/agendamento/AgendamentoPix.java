@@ -0,0 +1,125 @@
+package com.ledgerflow.agendamento;
+
+import com.ledgerflow.enums.Recorrencia;
+import com.ledgerflow.enums.StatusAgendamento;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ordem de PIX agendado (única ou recorrente) controlada pelo {@link AgendadorPix}.
+ * As próximas ocorrências são sempre calculadas a partir da data base, de modo que
+ * um PIX mensal do dia 31 volta ao dia 31 depois de passar por meses mais curtos.
+ */
+public class AgendamentoPix {
+
+    private final String id;
+    private final String numeroContaOrigem;
+    private final String numeroContaDestino;
+    private final double valor;
+    private final Recorrencia recorrencia;
+    private final LocalDateTime dataBase;
+
+    private int ocorrencia;
+    private int tentativas;
+    private LocalDateTime proximaExecucao;
+    private StatusAgendamento status = StatusAgendamento.PENDENTE;
+    RodaTemporizacao.Entrada<AgendamentoPix> entrada;
+    // recuperado do journal: a ocorrência atual começou a executar e o resultado não foi gravado
+    boolean emExecucao;
+
+    AgendamentoPix(String id, String numeroContaOrigem, String numeroContaDestino, double valor,
+                   Recorrencia recorrencia, LocalDateTime dataBase){
+        this.id = id;
+        this.numeroContaOrigem = numeroContaOrigem;
+        this.numeroContaDestino = numeroContaDestino;
+        this.valor = valor;
+        this.recorrencia = recorrencia;
+        this.dataBase = dataBase;
+        this.proximaExecucao = dataBase;
+    }
+
+    public String getId(){
+        return id;
+    }
+
+    public String getNumeroContaOrigem(){
+        return numeroContaOrigem;
+    }
+
+    public String getNumeroContaDestino(){
+        return numeroContaDestino;
+    }
+
+    public double getValor(){
+        return valor;
+    }
+
+    public Recorrencia getRecorrencia(){
+        return recorrencia;
+    }
+
+    public LocalDateTime getDataBase(){
+        return dataBase;
+    }
+
+    /** @return Número da ocorrência atual (0 para a primeira execução). */
+    public int getOcorrencia(){
+        return ocorrencia;
+    }
+
+    /** @return Tentativas já falhas da ocorrência atual por saldo insuficiente. */
+    public int getTentativas(){
+        return tentativas;
+    }
+
+    /**
+     * ID da transferência da ocorrência atual: estável entre retentativas e reinícios,
+     * permite reconhecer no histórico da origem uma ocorrência já efetivada.
+     */
+    public String getIdTransacaoOcorrencia(){
+        return id + "#" + ocorrencia;
+    }
+
+    public LocalDateTime getProximaExecucao(){
+        return proximaExecucao;
+    }
+
+    public StatusAgendamento getStatus(){
+        return status;
+    }
+
+    // --- TRANSIÇÕES (usadas apenas pelo agendador) ---
+
+    /**
+     * Avança para a próxima ocorrência da recorrência.
+     * @return false se o agendamento for de execução única.
+     */
+    boolean avancarOcorrencia(){
+        tentativas = 0;
+        proximaExecucao = switch (recorrencia) {
+            case UNICA -> null;
+            case SEMANAL -> dataBase.plusWeeks(ocorrencia + 1L);
+            case MENSAL -> dataBase.plusMonths(ocorrencia + 1L);
+        };
+        if(proximaExecucao == null){
+            return false;
+        }
+        ocorrencia++;
+        return true;
+    }
+
+    void registrarTentativa(LocalDateTime novaExecucao){
+        tentativas++;
+        proximaExecucao = novaExecucao;
+    }
+
+    void restaurar(int ocorrencia, int tentativas, LocalDateTime proximaExecucao){
+        this.ocorrencia = ocorrencia;
+        this.tentativas = tentativas;
+        this.proximaExecucao = proximaExecucao;
+    }
+
+    void setStatus(StatusAgendamento status){
+        this.status = status;
+    }
+}
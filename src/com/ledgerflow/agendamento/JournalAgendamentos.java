@@ -0,0 +1,168 @@
+package com.ledgerflow.agendamento;
+
+import com.ledgerflow.enums.Recorrencia;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.OpenOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Registro append-only dos agendamentos, usado para sobreviver a reinícios.
+ * Cada linha é um evento separado por ';':
+ * A (novo agendamento), E (ocorrência em execução), P (progresso: nova data/tentativa)
+ * e F (finalizado). Um E sem P/F posterior indica queda durante a transferência.
+ * Na abertura, o arquivo é relido e reescrito contendo apenas os pendentes.
+ */
+final class JournalAgendamentos implements AutoCloseable {
+
+    private static final String SEP = ";";
+
+    private final Path arquivo;
+    private FileChannel canal;
+    private BufferedWriter escritor;
+
+    JournalAgendamentos(Path arquivo){
+        this.arquivo = arquivo;
+    }
+
+    /**
+     * Reconstrói os agendamentos pendentes a partir do arquivo e o compacta.
+     * Linhas incompletas (ex.: queda no meio de uma escrita) são ignoradas.
+     */
+    Collection<AgendamentoPix> recuperar(){
+        Map<String, AgendamentoPix> pendentes = new LinkedHashMap<>();
+        try {
+            if(Files.exists(arquivo)){
+                for (String linha : Files.readAllLines(arquivo, StandardCharsets.UTF_8)) {
+                    aplicar(linha.split(SEP), pendentes);
+                }
+            }
+            compactar(pendentes.values());
+            abrir(arquivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao recuperar o journal de agendamentos.", e);
+        }
+        return pendentes.values();
+    }
+
+    void registrarNovo(AgendamentoPix ag){
+        escrever(String.join(SEP, "A", ag.getId(), ag.getNumeroContaOrigem(), ag.getNumeroContaDestino(),
+                Double.toString(ag.getValor()), ag.getRecorrencia().name(), ag.getDataBase().toString()));
+    }
+
+    /** Marca o início da execução da ocorrência atual (deve ser sincronizada antes do débito). */
+    void registrarExecucao(AgendamentoPix ag){
+        escrever(String.join(SEP, "E", ag.getId(), Integer.toString(ag.getOcorrencia())));
+    }
+
+    void registrarProgresso(AgendamentoPix ag){
+        escrever(String.join(SEP, "P", ag.getId(), Integer.toString(ag.getOcorrencia()),
+                Integer.toString(ag.getTentativas()), ag.getProximaExecucao().toString()));
+    }
+
+    void registrarFim(AgendamentoPix ag){
+        escrever(String.join(SEP, "F", ag.getId(), ag.getStatus().name()));
+    }
+
+    /** Descarrega o buffer e força a gravação em disco (fsync): o que foi registrado sobrevive a uma queda. */
+    void sincronizar(){
+        try {
+            escritor.flush();
+            canal.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar o journal de agendamentos.", e);
+        }
+    }
+
+    @Override
+    public void close(){
+        try {
+            escritor.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao fechar o journal de agendamentos.", e);
+        }
+    }
+
+    // --- INTERNOS ---
+
+    private void abrir(Path destino, OpenOption... opcoes) throws IOException{
+        canal = FileChannel.open(destino, opcoes);
+        escritor = new BufferedWriter(Channels.newWriter(canal, StandardCharsets.UTF_8));
+    }
+
+    private void escrever(String linha){
+        try {
+            escritor.write(linha);
+            escritor.newLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar o journal de agendamentos.", e);
+        }
+    }
+
+    private static void aplicar(String[] campos, Map<String, AgendamentoPix> pendentes){
+        try {
+            switch (campos[0]) {
+                case "A" -> {
+                    if(campos.length != 7) return;
+                    AgendamentoPix ag = new AgendamentoPix(campos[1], campos[2], campos[3],
+                            Double.parseDouble(campos[4]), Recorrencia.valueOf(campos[5]),
+                            LocalDateTime.parse(campos[6]));
+                    pendentes.put(ag.getId(), ag);
+                }
+                case "E" -> {
+                    AgendamentoPix ag = pendentes.get(campos[1]);
+                    if(ag != null && campos.length == 3){
+                        ag.emExecucao = Integer.parseInt(campos[2]) == ag.getOcorrencia();
+                    }
+                }
+                case "P" -> {
+                    AgendamentoPix ag = pendentes.get(campos[1]);
+                    if(ag != null && campos.length == 5){
+                        ag.restaurar(Integer.parseInt(campos[2]), Integer.parseInt(campos[3]),
+                                LocalDateTime.parse(campos[4]));
+                        ag.emExecucao = false;
+                    }
+                }
+                case "F" -> pendentes.remove(campos[1]);
+                default -> { }
+            }
+        } catch (RuntimeException e) {
+            // linha truncada ou corrompida: descartada
+        }
+    }
+
+    // reescreve o journal com um evento A (+ P, + E) por agendamento pendente
+    private void compactar(Collection<AgendamentoPix> pendentes) throws IOException{
+        Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+        abrir(temporario, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            for (AgendamentoPix ag : pendentes) {
+                registrarNovo(ag);
+                if(ag.getOcorrencia() > 0 || ag.getTentativas() > 0){
+                    registrarProgresso(ag);
+                }
+                if(ag.emExecucao){
+                    registrarExecucao(ag);
+                }
+            }
+            sincronizar();
+        } finally {
+            escritor.close();
+            escritor = null;
+            canal = null;
+        }
+        Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
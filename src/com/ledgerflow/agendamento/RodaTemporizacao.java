@@ -0,0 +1,181 @@
+package com.ledgerflow.agendamento;
+
+import java.util.function.Consumer;
+
+/**
+ * Roda de temporização hierárquica (hierarchical timing wheel).
+ * O tempo é dividido em ticks; cada nível possui 64 posições e cobre 64 vezes
+ * o alcance do nível anterior. Inserção e cancelamento são O(1) (listas
+ * duplamente ligadas intrusivas); ao avançar o tempo, as posições dos níveis
+ * superiores são redistribuídas ("cascata") para os níveis mais finos.
+ * @param <T> Tipo do item agendado.
+ */
+final class RodaTemporizacao<T> {
+
+    private static final int BITS_POR_NIVEL = 6;
+    private static final int POSICOES = 1 << BITS_POR_NIVEL;
+    private static final int MASCARA = POSICOES - 1;
+    private static final int NIVEIS = 6;
+
+    /** Nó intrusivo: conhece os vizinhos e pode se desligar da lista sem busca. */
+    static final class Entrada<T> {
+        private final T valor;
+        private long tickExpiracao;
+        private Entrada<T> anterior;
+        private Entrada<T> proxima;
+
+        private Entrada(T valor){
+            this.valor = valor;
+            this.anterior = this;
+            this.proxima = this;
+        }
+
+        boolean isAgendada(){
+            return proxima != this;
+        }
+    }
+
+    private final long duracaoTickMs;
+    private final Entrada<T>[][] posicoes;
+    private final Entrada<T> excedentes = new Entrada<>(null);
+    private final Entrada<T> vencidas = new Entrada<>(null);
+    private long tickAtual;
+    private int tamanho;
+
+    /**
+     * @param duracaoTickMs Resolução da roda em milissegundos.
+     * @param instanteInicialMs Instante (epoch ms) que corresponde ao tick atual.
+     */
+    @SuppressWarnings("unchecked")
+    RodaTemporizacao(long duracaoTickMs, long instanteInicialMs){
+        if(duracaoTickMs <= 0){
+            throw new IllegalArgumentException("A duração do tick deve ser positiva.");
+        }
+        this.duracaoTickMs = duracaoTickMs;
+        this.tickAtual = instanteInicialMs / duracaoTickMs;
+        this.posicoes = (Entrada<T>[][]) new Entrada<?>[NIVEIS][POSICOES];
+        for (int n = 0; n < NIVEIS; n++) {
+            for (int p = 0; p < POSICOES; p++) {
+                posicoes[n][p] = new Entrada<>(null);
+            }
+        }
+    }
+
+    /**
+     * Agenda um item para o instante informado (arredondado para o tick seguinte).
+     * Instantes já passados são entregues no próximo avanço.
+     * @return A entrada criada, usada para cancelamento em O(1).
+     */
+    Entrada<T> agendar(T valor, long instanteMs){
+        Entrada<T> e = new Entrada<>(valor);
+        e.tickExpiracao = Math.floorDiv(instanteMs + duracaoTickMs - 1, duracaoTickMs);
+        posicionar(e);
+        tamanho++;
+        return e;
+    }
+
+    /**
+     * Remove a entrada da roda.
+     * @return true se a entrada ainda estava agendada.
+     */
+    boolean cancelar(Entrada<T> e){
+        if(!e.isAgendada()){
+            return false;
+        }
+        desligar(e);
+        tamanho--;
+        return true;
+    }
+
+    /**
+     * Avança o tempo até o instante informado, entregando ao consumidor todos os
+     * itens vencidos em ordem de tick.
+     * @return Quantidade de itens entregues.
+     */
+    int avancarAte(long instanteMs, Consumer<T> consumidor){
+        long tickAlvo = Math.floorDiv(instanteMs, duracaoTickMs);
+        int entregues = esvaziar(vencidas, consumidor);
+
+        while(tickAtual < tickAlvo){
+            if(tamanho == 0){
+                // nada agendado: salta o intervalo ocioso de uma vez
+                tickAtual = tickAlvo;
+                break;
+            }
+            tickAtual++;
+            cascatear();
+            // a cascata pode devolver itens que vencem exatamente neste tick
+            entregues += esvaziar(vencidas, consumidor);
+            entregues += esvaziar(posicoes[0][(int) (tickAtual & MASCARA)], consumidor);
+        }
+        return entregues;
+    }
+
+    // --- MECÂNICA INTERNA ---
+
+    private void posicionar(Entrada<T> e){
+        if(e.tickExpiracao <= tickAtual){
+            ligar(vencidas, e);
+            return;
+        }
+        long diferenca = e.tickExpiracao ^ tickAtual;
+        for (int nivel = 0; nivel < NIVEIS; nivel++) {
+            if((diferenca >>> (BITS_POR_NIVEL * (nivel + 1))) == 0){
+                int posicao = (int) ((e.tickExpiracao >>> (BITS_POR_NIVEL * nivel)) & MASCARA);
+                ligar(posicoes[nivel][posicao], e);
+                return;
+            }
+        }
+        ligar(excedentes, e);
+    }
+
+    // nas fronteiras de cada nível, redistribui a posição que acaba de se tornar a atual
+    private void cascatear(){
+        for (int nivel = 1; nivel < NIVEIS; nivel++) {
+            int deslocamento = BITS_POR_NIVEL * nivel;
+            if((tickAtual & ((1L << deslocamento) - 1)) != 0){
+                return;
+            }
+            redistribuir(posicoes[nivel][(int) ((tickAtual >>> deslocamento) & MASCARA)]);
+        }
+        if((tickAtual & ((1L << (BITS_POR_NIVEL * NIVEIS)) - 1)) == 0){
+            redistribuir(excedentes);
+        }
+    }
+
+    private void redistribuir(Entrada<T> sentinela){
+        Entrada<T> e = sentinela.proxima;
+        while(e != sentinela){
+            Entrada<T> seguinte = e.proxima;
+            desligar(e);
+            posicionar(e);
+            e = seguinte;
+        }
+    }
+
+    private int esvaziar(Entrada<T> sentinela, Consumer<T> consumidor){
+        int entregues = 0;
+        while(sentinela.proxima != sentinela){
+            Entrada<T> e = sentinela.proxima;
+            desligar(e);
+            tamanho--;
+            entregues++;
+            consumidor.accept(e.valor);
+        }
+        return entregues;
+    }
+
+    private void ligar(Entrada<T> sentinela, Entrada<T> e){
+        e.anterior = sentinela.anterior;
+        e.proxima = sentinela;
+        sentinela.anterior.proxima = e;
+        sentinela.anterior = e;
+    }
+
+    private void desligar(Entrada<T> e){
+        e.anterior.proxima = e.proxima;
+        e.proxima.anterior = e.anterior;
+        e.anterior = e;
+        e.proxima = e;
+    }
+}
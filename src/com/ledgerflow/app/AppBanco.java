@@ -1,25 +1,74 @@
 package com.ledgerflow.app;
 
+import com.ledgerflow.importacao.ImportadorContas;
+import com.ledgerflow.importacao.RelatorioImportacao;
 import com.ledgerflow.model.ContaBancaria;
 import com.ledgerflow.model.ContaCorrente;
 import com.ledgerflow.model.ContaPoupanca;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Scanner;
 
 public class AppBanco {
 
-    public static void main(String[] args) {
+    // uso opcional: AppBanco <contas.csv> [transacoes.csv] carrega uma base migrada
+    public static void main(String[] args) throws IOException {
 
         Scanner sc = new Scanner(System.in);
         BancoUI ui = new BancoUI(sc);
-        Map<String, ContaBancaria> mapaContas = new HashMap<>();
+        // login por CPF ou número da conta; PIX por chave (CPF do titular ou chaves importadas)
+        Map<String, ContaBancaria> contasLogin = new HashMap<>();
+        Map<String, ContaBancaria> chavesPix = new HashMap<>();
         ContaBancaria c1 = new ContaCorrente("12345678900", "001", "1010", 500.0);
-        mapaContas.put(c1.getCpfTitular(), c1);
+        contasLogin.put(c1.getCpfTitular(), c1);
+        contasLogin.put(c1.getNumero(), c1);
+        chavesPix.put(c1.getCpfTitular(), c1);
 
         ContaBancaria c2 = new ContaPoupanca("98765432100", "002", "2020", 1000.0);
-        mapaContas.put(c2.getCpfTitular(), c2);
+        contasLogin.put(c2.getCpfTitular(), c2);
+        contasLogin.put(c2.getNumero(), c2);
+        chavesPix.put(c2.getCpfTitular(), c2);
+
+        if(args.length > 0){
+            RelatorioImportacao importacao = new ImportadorContas()
+                    .importar(Path.of(args[0]), args.length > 1 ? Path.of(args[1]) : null);
+            importacao.imprimir(System.out);
+            // o CPF leva à primeira conta do titular; as demais são acessadas pelo número da conta
+            int somentePorNumero = 0;
+            int conflitosNumero = 0;
+            for (ContaBancaria conta : importacao.getRepositorio().getContas()) {
+                boolean porCpf = contasLogin.putIfAbsent(conta.getCpfTitular(), conta) == null;
+                boolean porNumero = contasLogin.putIfAbsent(conta.getNumero(), conta) == null;
+                chavesPix.putIfAbsent(conta.getCpfTitular(), conta);
+                if(!porNumero){
+                    conflitosNumero++;
+                } else if(!porCpf){
+                    somentePorNumero++;
+                }
+            }
+            int conflitosChave = 0;
+            for (Map.Entry<String, ContaBancaria> chave : importacao.getRepositorio().getContasPorChavePix().entrySet()) {
+                ContaBancaria existente = chavesPix.putIfAbsent(chave.getKey(), chave.getValue());
+                if(existente != null && existente != chave.getValue()){
+                    conflitosChave++;
+                }
+            }
+            if(somentePorNumero > 0){
+                System.out.println("AVISO: " + somentePorNumero
+                        + " conta(s) de titulares com mais de uma conta só são acessíveis pelo número da conta.");
+            }
+            if(conflitosNumero > 0){
+                System.err.println("AVISO: " + conflitosNumero
+                        + " conta(s) importada(s) com número já existente: o número continua levando à conta anterior.");
+            }
+            if(conflitosChave > 0){
+                System.err.println("AVISO: " + conflitosChave
+                        + " chave(s) PIX importada(s) ignorada(s) por já pertencerem a outra conta.");
+            }
+        }
 
         ContaBancaria contaLogada = null;
         boolean rodando = true;
@@ -33,7 +82,7 @@ public class AppBanco {
                     rodando = false;
                     continue;
                 }
-                contaLogada = ui.efetuarLogin(mapaContas);
+                contaLogada = ui.efetuarLogin(contasLogin);
             }
             else{
                 int opMenu = ui.exibirMenuConta(contaLogada);
@@ -49,7 +98,7 @@ public class AppBanco {
                         ui.realizarSaque(contaLogada);
                         break;
                     case 4:
-                        ui.realizarPix(contaLogada, mapaContas);
+                        ui.realizarPix(contaLogada, chavesPix);
                         break;
                     case 5:
                         ui.exibirExtratoFiltrado(contaLogada);
@@ -0,0 +1,68 @@
+package com.ledgerflow.app;
+
+import com.ledgerflow.carga.ArquivoCarga;
+import com.ledgerflow.carga.CargaTrabalho;
+import com.ledgerflow.carga.ExecutorCarga;
+import com.ledgerflow.carga.GeradorCarga;
+import com.ledgerflow.carga.GeradorPopulacao;
+import com.ledgerflow.carga.MixOperacoes;
+import com.ledgerflow.carga.RelatorioCarga;
+import com.ledgerflow.repositorio.RepositorioContas;
+
+import java.nio.file.Path;
+
+/**
+ * Ferramenta de linha de comando para testes de capacidade.
+ * <pre>
+ * gerar      &lt;arquivo&gt; [clientes] [operacoes] [expoenteZipf] [semente] [mix]
+ * reproduzir &lt;arquivo&gt; [ops/s, 0 = máximo] [threads]
+ * </pre>
+ */
+public class AppCarga {
+
+    public static void main(String[] args) throws Exception {
+        if(args.length < 2){
+            System.err.println("Uso: gerar <arquivo> [clientes] [operacoes] [expoenteZipf] [semente] [mix]");
+            System.err.println("     reproduzir <arquivo> [ops/s] [threads]");
+            System.exit(1);
+        }
+
+        Path arquivo = Path.of(args[1]);
+        switch (args[0]) {
+            case "gerar" -> {
+                int clientes = argumento(args, 2, 1_000_000);
+                int operacoes = argumento(args, 3, 5_000_000);
+                double zipf = args.length > 4 ? Double.parseDouble(args[4]) : 1.0;
+                long semente = args.length > 5 ? Long.parseLong(args[5]) : 42L;
+                MixOperacoes mix = MixOperacoes.parse(args.length > 6 ? args[6] : MixOperacoes.PADRAO);
+
+                long t0 = System.nanoTime();
+                CargaTrabalho carga = GeradorCarga.gerar(clientes, semente, operacoes, mix, zipf, semente);
+                ArquivoCarga.gravar(carga, arquivo);
+                System.out.printf("Carga gravada em %s: %,d operações sobre %,d clientes (zipf %.2f, mix %s) em %.2f s%n",
+                        arquivo, operacoes, clientes, zipf, mix, (System.nanoTime() - t0) / 1e9);
+            }
+            case "reproduzir" -> {
+                double taxa = args.length > 2 ? Double.parseDouble(args[2]) : 0;
+                int threads = argumento(args, 3, 1);
+
+                CargaTrabalho carga = ArquivoCarga.ler(arquivo);
+                long t0 = System.nanoTime();
+                RepositorioContas repositorio = GeradorPopulacao.gerar(carga.getQuantidadeClientes(), carga.getSementePopulacao());
+                System.out.printf("População de %,d contas gerada em %.2f s%n",
+                        repositorio.tamanho(), (System.nanoTime() - t0) / 1e9);
+
+                RelatorioCarga relatorio = ExecutorCarga.executar(carga, repositorio, taxa, threads);
+                relatorio.imprimir(System.out);
+            }
+            default -> {
+                System.err.println("Comando desconhecido: " + args[0]);
+                System.exit(1);
+            }
+        }
+    }
+
+    private static int argumento(String[] args, int posicao, int padrao){
+        return args.length > posicao ? Integer.parseInt(args[posicao]) : padrao;
+    }
+}
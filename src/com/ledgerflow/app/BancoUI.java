@@ -2,11 +2,10 @@ package com.ledgerflow.app;
 
 import com.ledgerflow.enums.TipoChavePix;
 import com.ledgerflow.enums.TipoTransacao;
+import com.ledgerflow.extrato.CacheExtrato;
 import com.ledgerflow.model.ContaBancaria;
 import com.ledgerflow.exceptions.InsufficientFundsException;
-import com.ledgerflow.model.Transacao;
 
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
@@ -19,32 +18,48 @@ import java.util.Scanner;
 public class BancoUI {
 
     private final Scanner sc;
+    private final CacheExtrato cacheExtrato;
 
     /**
      * Construtor da classe BancoUI.
      * @param sc Objeto Scanner para captura de entradas do sistema.
      */
     public BancoUI(Scanner sc){
+        this(sc, new CacheExtrato());
+    }
+
+    /**
+     * @param sc Objeto Scanner para captura de entradas do sistema.
+     * @param cacheExtrato Cache de extratos formatados (pode ser compartilhado entre sessões).
+     */
+    public BancoUI(Scanner sc, CacheExtrato cacheExtrato){
         this.sc = sc;
+        this.cacheExtrato = cacheExtrato;
+    }
+
+    /** @return O cache de extratos, com as estatísticas de acerto. */
+    public CacheExtrato getCacheExtrato(){
+        return cacheExtrato;
     }
 
     // --- MÉTODOS DE SESSÃO E AUTENTICAÇÃO ---
 
     /**
-     * Gerencia o fluxo de login validando o CPF no repositório de contas.
-     * @param mapaContas Mapa contendo a base de dados de contas do sistema.
+     * Gerencia o fluxo de login validando o CPF ou o número da conta no repositório de contas.
+     * O CPF leva à primeira conta do titular; as demais são acessadas pelo número.
+     * @param mapaContas Mapa contendo a base de dados de contas do sistema (por CPF e por número).
      * @return O objeto ContaBancaria autenticado ou null caso não encontrado.
      */
     public ContaBancaria efetuarLogin(Map<String, ContaBancaria> mapaContas) {
 
-        String cpfBusca = lerStringSegura("Digite seu CPF para acessar: ");
+        String cpfBusca = lerStringSegura("Digite seu CPF ou o número da conta para acessar: ");
 
         ContaBancaria conta = mapaContas.get(cpfBusca);
 
         if (conta == null) {
-            System.err.println("CPF não encontrado!");
+            System.err.println("CPF ou conta não encontrado!");
         } else {
-            System.out.println("Acesso autorizado para o CPF: " + cpfBusca);
+            System.out.println("Acesso autorizado para a conta: " + conta.getNumero());
         }
         return conta;
     }
@@ -79,24 +94,6 @@ public class BancoUI {
         };
     }
 
-    // --- MÉTODOS DE FILTRAGEM ---
-
-    /**
-     * Filtra a lista de transações por categoria e período utilizando Java Streams.
-     * @param extrato Lista completa de transações da conta.
-     * @param tipo Categoria da transação (SAQUE, DEPOSITO, etc).
-     * @param dias Janela retroativa de dias para o filtro.
-     * @return Lista de transações que atendem aos critérios.
-     */
-    public List<Transacao> filtrarExtrato(List<Transacao> extrato, TipoTransacao tipo, int dias){
-
-        LocalDateTime dataLimite = LocalDateTime.now().minusDays(dias);
-        return extrato.stream()
-                .filter(t-> tipo == null || t.getTipo() == tipo)
-                .filter(t -> t.getDataHora().isAfter(dataLimite))
-                .toList();
-    }
-
     // --- MÉTODOS PARA VALIDAÇÃO DE INPUTS ---
 
     /**
@@ -306,6 +303,7 @@ public class BancoUI {
 
     /**
      * Orquestra a captura de filtros e exibe o extrato customizado.
+     * As linhas vêm do cache de extratos, que só processa as transações novas.
      * @param contaLogada Conta de onde os dados do extrato serão extraídos.
      */
     public void exibirExtratoFiltrado(ContaBancaria contaLogada){
@@ -315,12 +313,12 @@ public class BancoUI {
         int dias = lerIntSeguro("Período (dias atrás, 0 para total): ", 0, 360);
 
         TipoTransacao tipo = mapearOpcaoParaTipoTransacao(op);
-        List<Transacao> resultado = filtrarExtrato(contaLogada.getTransacoes(), tipo, dias);
+        List<String> linhas = cacheExtrato.consultar(contaLogada, tipo, dias);
 
-        if (resultado.isEmpty()) {
+        if (linhas.isEmpty()) {
             System.out.println("Nenhuma movimentação encontrada.");
         } else {
-            resultado.forEach(t -> System.out.println(contaLogada.formatarTransacao(t, contaLogada.getNumero())));
+            linhas.forEach(System.out::println);
         }
     }
 }
@@ -0,0 +1,142 @@
+package com.ledgerflow.benchmark;
+
+import com.ledgerflow.admissao.ControleAdmissao;
+import com.ledgerflow.carga.GeradorPopulacao;
+import com.ledgerflow.carga.HistogramaLatencia;
+import com.ledgerflow.enums.PrioridadeOperacao;
+import com.ledgerflow.enums.TipoOperacao;
+import com.ledgerflow.model.ContaBancaria;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Sobrecarga em malha aberta: uma taxa fixa de operações (consultas, PIX pequenos,
+ * depósitos e extratos em lote) acima da capacidade, entregue a um pool com fila
+ * ilimitada e ao {@link ControleAdmissao}. Mede, por prioridade, a latência do envio
+ * à conclusão, as recusas e a maior fila observada.
+ * Uso: java -cp out com.ledgerflow.benchmark.BenchmarkAdmissao [opsPorSegundo] [segundos]
+ */
+public class BenchmarkAdmissao {
+
+    private static final PrioridadeOperacao[] PRIORIDADES = PrioridadeOperacao.values();
+
+    public static void main(String[] args) throws InterruptedException {
+        double opsPorSegundo = args.length > 0 ? Double.parseDouble(args[0]) : 150_000;
+        long duracaoMs = (args.length > 1 ? Long.parseLong(args[1]) : 3) * 1000;
+        List<ContaBancaria> contas = GeradorPopulacao.gerar(10_000, 42L).getContas();
+        int threads = 2 * Runtime.getRuntime().availableProcessors();
+
+        System.out.printf("=== BENCHMARK: CONTROLE DE ADMISSÃO (%,.0f ops/s oferecidas por %ds, %d threads) ===%n",
+                opsPorSegundo, duracaoMs / 1000, threads);
+
+        try (ControleAdmissao controle = new ControleAdmissao()) {
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+            Medicao semControle = executar(contas, opsPorSegundo, duracaoMs, controle, (prioridade, conta, operacao) -> {
+                CompletableFuture<Object> futuro = new CompletableFuture<>();
+                pool.execute(() -> futuro.complete(operacao.get()));
+                return futuro;
+            }, () -> pool.getQueue().size());
+            pool.shutdown();
+            imprimir("fila ilimitada", semControle);
+
+            Medicao comControle = executar(contas, opsPorSegundo, duracaoMs, controle,
+                    (prioridade, conta, operacao) -> controle.submeter(prioridade, conta.getNumero(), operacao),
+                    controle::getProfundidade);
+            imprimir("admissão", comControle);
+            System.out.println(controle + ", reduções do limite=" + controle.getLimite().getReducoes());
+        }
+    }
+
+    private interface Submissor {
+        CompletableFuture<?> submeter(PrioridadeOperacao prioridade, ContaBancaria conta, Supplier<Object> operacao);
+    }
+
+    private static final class Medicao {
+        private final HistogramaLatencia[] latencias = new HistogramaLatencia[PRIORIDADES.length];
+        private final long[] recusadas = new long[PRIORIDADES.length];
+        private final AtomicLong pendentes = new AtomicLong();
+        private long maiorFila;
+        private long duracaoNanos;
+
+        private Medicao(){
+            for (int i = 0; i < latencias.length; i++) {
+                latencias[i] = new HistogramaLatencia();
+            }
+        }
+
+        private void registrar(PrioridadeOperacao prioridade, long nanos){
+            synchronized (latencias[prioridade.ordinal()]) {
+                latencias[prioridade.ordinal()].registrar(nanos);
+            }
+            pendentes.decrementAndGet();
+        }
+    }
+
+    private static Medicao executar(List<ContaBancaria> contas, double opsPorSegundo, long duracaoMs, ControleAdmissao classificador,
+                                    Submissor submissor, IntSupplier profundidade) throws InterruptedException {
+        Medicao medicao = new Medicao();
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        long intervalo = (long) (1e9 / opsPorSegundo);
+        long inicio = System.nanoTime();
+        long fim = inicio + duracaoMs * 1_000_000;
+        long enviadas = 0;
+        for (long agendado = inicio; agendado < fim; agendado += intervalo) {
+            long restante = agendado - System.nanoTime();
+            if(restante > 100_000){
+                LockSupport.parkNanos(restante);
+            }
+            ContaBancaria origem = contas.get(rnd.nextInt(contas.size()));
+            ContaBancaria destino = contas.get(rnd.nextInt(contas.size()));
+            int sorteio = rnd.nextInt(100);
+            TipoOperacao tipo = sorteio < 30 ? TipoOperacao.CONSULTA_SALDO : sorteio < 60 ? TipoOperacao.PIX
+                    : sorteio < 80 ? TipoOperacao.DEPOSITO : TipoOperacao.EXTRATO;
+            double valor = 1 + rnd.nextInt(100);
+            PrioridadeOperacao prioridade = classificador.classificar(tipo, valor);
+            Supplier<Object> operacao = switch (tipo) {
+                case CONSULTA_SALDO -> origem::getSaldo;
+                case PIX -> () -> origem.tentarTransferir(valor, destino);
+                case DEPOSITO, SAQUE -> () -> origem.tentarDepositar(valor);
+                case EXTRATO -> () -> origem.buscarExtratoInteligente(null, LocalDateTime.now().minusDays(30), null);
+            };
+
+            // latência medida a partir do horário agendado (malha aberta)
+            long enviado = agendado;
+            medicao.pendentes.incrementAndGet();
+            CompletableFuture<?> futuro = submissor.submeter(prioridade, origem, operacao);
+            if(futuro.isCompletedExceptionally()){
+                medicao.recusadas[prioridade.ordinal()]++;
+                medicao.pendentes.decrementAndGet();
+            } else {
+                futuro.thenRun(() -> medicao.registrar(prioridade, System.nanoTime() - enviado));
+            }
+            if(++enviadas % 1_000 == 0){
+                medicao.maiorFila = Math.max(medicao.maiorFila, profundidade.getAsInt());
+            }
+        }
+        while(medicao.pendentes.get() > 0){
+            Thread.sleep(1);
+        }
+        medicao.duracaoNanos = System.nanoTime() - inicio;
+        return medicao;
+    }
+
+    private static void imprimir(String nome, Medicao medicao){
+        System.out.printf("%n%s (duração total %.1fs, maior fila %,d)%n", nome, medicao.duracaoNanos / 1e9, medicao.maiorFila);
+        System.out.printf("%-8s %12s %12s %12s %12s%n", "prior.", "concluídas", "recusadas", "p50", "p99");
+        for (PrioridadeOperacao p : PRIORIDADES) {
+            HistogramaLatencia h = medicao.latencias[p.ordinal()];
+            System.out.printf("%-8s %,12d %,12d %10.2fms %10.2fms%n", p, h.getTotal(), medicao.recusadas[p.ordinal()],
+                    h.percentil(50) / 1e6, h.percentil(99) / 1e6);
+        }
+    }
+}
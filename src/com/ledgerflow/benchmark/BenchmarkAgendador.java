@@ -0,0 +1,84 @@
+package com.ledgerflow.benchmark;
+
+import com.ledgerflow.agendamento.AgendadorPix;
+import com.ledgerflow.agendamento.AgendamentoPix;
+import com.ledgerflow.enums.Recorrencia;
+import com.ledgerflow.model.ContaBancaria;
+import com.ledgerflow.model.ContaCorrente;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Mede a vazão de inserção, cancelamento e disparo do agendador de PIX
+ * com milhões de agendamentos pendentes. Com um arquivo de journal, mede também o custo
+ * da durabilidade (um fsync por agendamento/cancelamento e dois por lote disparado).
+ * Uso: java -cp out com.ledgerflow.benchmark.BenchmarkAgendador [agendamentos] [contas] [arquivoJournal]
+ */
+public class BenchmarkAgendador {
+
+    private static final LocalDateTime INICIO = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final int DIAS = 30;
+
+    public static void main(String[] args) throws IOException {
+        int quantidade = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int quantidadeContas = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        Path journal = args.length > 2 ? Path.of(args[2]) : null;
+
+        Map<String, ContaBancaria> contas = new HashMap<>();
+        String[] numeros = new String[quantidadeContas];
+        for (int i = 0; i < quantidadeContas; i++) {
+            numeros[i] = String.valueOf(100_000 + i);
+            contas.put(numeros[i], new ContaCorrente("cpf" + i, numeros[i], "0001", 1_000_000_000.0));
+        }
+
+        Clock relogio = Clock.fixed(INICIO.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        if(journal != null){
+            Files.deleteIfExists(journal);
+        }
+        AgendadorPix agendador = new AgendadorPix(contas, relogio, journal);
+        Random rnd = new Random(7);
+        String[] ids = new String[quantidade];
+
+        System.out.println("=== BENCHMARK: AGENDADOR PIX (" + quantidade + " agendamentos, "
+                + (journal == null ? "em memória" : "journal " + journal) + ") ===");
+
+        long t0 = System.nanoTime();
+        for (int i = 0; i < quantidade; i++) {
+            int origem = rnd.nextInt(quantidadeContas);
+            int destino = (origem + 1 + rnd.nextInt(quantidadeContas - 1)) % quantidadeContas;
+            AgendamentoPix ag = agendador.agendar(numeros[origem], numeros[destino], 10.0,
+                    INICIO.plusSeconds(1 + rnd.nextInt(DIAS * 86_400)), Recorrencia.UNICA);
+            ids[i] = ag.getId();
+        }
+        imprimir("Inserção", quantidade, System.nanoTime() - t0);
+
+        int cancelar = quantidade / 10;
+        t0 = System.nanoTime();
+        for (int i = 0; i < cancelar; i++) {
+            agendador.cancelar(ids[i * 10]);
+        }
+        imprimir("Cancelamento", cancelar, System.nanoTime() - t0);
+
+        t0 = System.nanoTime();
+        long disparados = 0;
+        for (int h = 1; h <= DIAS * 24; h++) {
+            disparados += agendador.processarAte(INICIO.plusHours(h));
+        }
+        imprimir("Disparo (transferir)", disparados, System.nanoTime() - t0);
+        System.out.println("Pendentes restantes: " + agendador.getQuantidadePendentes());
+        agendador.encerrar();
+    }
+
+    private static void imprimir(String rotulo, long operacoes, long nanos){
+        System.out.printf("%-22s: %,12d ops em %7.2f s -> %,12.0f ops/s%n",
+                rotulo, operacoes, nanos / 1e9, operacoes / (nanos / 1e9));
+    }
+}
@@ -0,0 +1,84 @@
+package com.ledgerflow.benchmark;
+
+import com.ledgerflow.exceptions.InsufficientFundsException;
+import com.ledgerflow.model.ContaBancaria;
+import com.ledgerflow.model.ContaCorrente;
+import com.ledgerflow.model.SnapshotSaldos;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mede a vazão de PIX para um único destino (conta de lojista) com número crescente
+ * de threads remetentes, no modo normal e no modo quente (créditos listrados), e
+ * confere ao final o total do sistema e o histórico do destino.
+ * Uso: java -cp out com.ledgerflow.benchmark.BenchmarkContaQuente [remetentes] [segundos]
+ */
+public class BenchmarkContaQuente {
+
+    public static void main(String[] args) throws InterruptedException {
+        int quantidadeRemetentes = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        long duracaoMs = (args.length > 1 ? Long.parseLong(args[1]) : 2) * 1000;
+
+        System.out.println("=== BENCHMARK: DESTINO QUENTE (" + quantidadeRemetentes + " remetentes, "
+                + Runtime.getRuntime().availableProcessors() + " CPUs) ===");
+        System.out.printf("%-8s %18s %18s %10s%n", "threads", "normal PIX/s", "quente PIX/s", "ganho");
+
+        for (int threads : new int[]{1, 2, 4, 8}) {
+            double normal = medir(quantidadeRemetentes, threads, false, duracaoMs);
+            double quente = medir(quantidadeRemetentes, threads, true, duracaoMs);
+            System.out.printf("%-8d %,18.0f %,18.0f %9.2fx%n", threads, normal, quente, quente / normal);
+        }
+    }
+
+    private static double medir(int quantidadeRemetentes, int quantidadeThreads, boolean modoQuente, long duracaoMs)
+            throws InterruptedException {
+        List<ContaBancaria> remetentes = new ArrayList<>();
+        for (int i = 0; i < quantidadeRemetentes; i++) {
+            remetentes.add(new ContaCorrente("cpf" + i, String.valueOf(i), "0001", 1_000_000.0));
+        }
+        ContaBancaria lojista = new ContaCorrente("lojista", "L-1", "0001", 0.0);
+        if(modoQuente){
+            lojista.ativarModoQuente();
+        }
+
+        AtomicBoolean rodando = new AtomicBoolean(true);
+        LongAdder transferencias = new LongAdder();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < quantidadeThreads; t++) {
+            threads.add(new Thread(() -> {
+                ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                while(rodando.get()){
+                    try{
+                        remetentes.get(rnd.nextInt(quantidadeRemetentes)).transferir(1 + rnd.nextInt(100), lojista);
+                        transferencias.increment();
+                    }
+                    catch(InsufficientFundsException e){
+                        // remetente esgotado: rejeição esperada
+                    }
+                }
+            }));
+        }
+
+        threads.forEach(Thread::start);
+        Thread.sleep(duracaoMs);
+        rodando.set(false);
+        for (Thread t : threads) {
+            t.join();
+        }
+
+        List<ContaBancaria> todas = new ArrayList<>(remetentes);
+        todas.add(lojista);
+        double total = SnapshotSaldos.capturar(todas).getTotal();
+        if(total != 1_000_000.0 * quantidadeRemetentes){
+            throw new IllegalStateException("Total inconsistente: " + total);
+        }
+        if(lojista.getTransacoes().size() != 2 * transferencias.sum()){
+            throw new IllegalStateException("Histórico do destino incompleto: " + lojista.getTransacoes().size());
+        }
+        return transferencias.sum() / (duracaoMs / 1000.0);
+    }
+}
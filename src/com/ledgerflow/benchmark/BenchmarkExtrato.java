@@ -0,0 +1,74 @@
+package com.ledgerflow.benchmark;
+
+import com.ledgerflow.extrato.CacheExtrato;
+import com.ledgerflow.model.ContaBancaria;
+import com.ledgerflow.model.ContaCorrente;
+import com.ledgerflow.model.Transacao;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Compara o extrato refeito a cada pedido (filtro + formatação do histórico inteiro,
+ * como a BancoUI fazia) com o cache de extratos, intercalando novas transações
+ * entre as consultas.
+ * Uso: java -cp out com.ledgerflow.benchmark.BenchmarkExtrato [transacoes] [consultas] [novasPorConsulta]
+ */
+public class BenchmarkExtrato {
+
+    public static void main(String[] args) {
+        int quantidade = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int consultas = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+        int novasPorConsulta = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+
+        System.out.println("=== BENCHMARK: CACHE DE EXTRATO (" + quantidade + " transações, "
+                + consultas + " consultas, " + novasPorConsulta + " novas por consulta) ===");
+
+        ContaBancaria semCache = popular(quantidade);
+        long inicio = System.nanoTime();
+        long linhas = 0;
+        for (int i = 0; i < consultas; i++) {
+            anexar(semCache, novasPorConsulta);
+            LocalDateTime limite = LocalDateTime.now().minusDays(30);
+            List<String> extrato = semCache.getTransacoes().stream()
+                    .filter(t -> t.getDataHora().isAfter(limite))
+                    .map(t -> semCache.formatarTransacao(t, semCache.getNumero()))
+                    .toList();
+            linhas += extrato.size();
+        }
+        double usSemCache = (System.nanoTime() - inicio) / 1e3 / consultas;
+
+        ContaBancaria comCache = popular(quantidade);
+        CacheExtrato cache = new CacheExtrato();
+        inicio = System.nanoTime();
+        long linhasCache = 0;
+        for (int i = 0; i < consultas; i++) {
+            anexar(comCache, novasPorConsulta);
+            linhasCache += cache.consultar(comCache, null, 30).size();
+        }
+        double usComCache = (System.nanoTime() - inicio) / 1e3 / consultas;
+
+        if(linhas != linhasCache){
+            throw new IllegalStateException("Extratos divergentes: " + linhas + " != " + linhasCache);
+        }
+        System.out.printf("Sem cache : %,10.1f µs/consulta%n", usSemCache);
+        System.out.printf("Com cache : %,10.1f µs/consulta (%.1fx)%n", usComCache, usSemCache / usComCache);
+        System.out.println(cache);
+    }
+
+    private static ContaBancaria popular(int quantidade){
+        ContaBancaria conta = new ContaCorrente("12345678900", "001", "1010", 0.0);
+        anexar(conta, quantidade);
+        return conta;
+    }
+
+    private static void anexar(ContaBancaria conta, int quantidade){
+        for (int i = 0; i < quantidade; i++) {
+            if(i % 3 == 2){
+                conta.sacar(1.0);
+            } else {
+                conta.depositar(10.0);
+            }
+        }
+    }
+}
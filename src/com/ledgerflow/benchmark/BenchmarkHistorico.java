@@ -0,0 +1,91 @@
+package com.ledgerflow.benchmark;
+
+import com.ledgerflow.enums.TipoTransacao;
+import com.ledgerflow.historico.HistoricoTransacoes;
+import com.ledgerflow.model.Transacao;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Mede memória por transação e latência de consulta do histórico em camadas,
+ * comparando com o ArrayList de objetos usado anteriormente.
+ * Uso: java -cp out com.ledgerflow.benchmark.BenchmarkHistorico [quantidade]
+ */
+public class BenchmarkHistorico {
+
+    private static final LocalDateTime INICIO = LocalDateTime.of(2015, 1, 1, 0, 0);
+
+    public static void main(String[] args) {
+        int quantidade = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        System.out.println("=== BENCHMARK: HISTÓRICO EM CAMADAS (" + quantidade + " transações) ===");
+
+        long antes = memoriaUsada();
+        List<Transacao> lista = new ArrayList<>();
+        preencher(lista, quantidade);
+        long bytesLista = memoriaUsada() - antes;
+        lista = null;
+
+        antes = memoriaUsada();
+        HistoricoTransacoes historico = new HistoricoTransacoes();
+        preencher(historico, quantidade);
+        long bytesHistorico = memoriaUsada() - antes;
+
+        System.out.printf("ArrayList<Transacao>      : %6.1f bytes/transação%n", (double) bytesLista / quantidade);
+        System.out.printf("HistoricoTransacoes       : %6.1f bytes/transação%n", (double) bytesHistorico / quantidade);
+        System.out.printf("  camada fria (estimativa): %6.1f bytes/transação (%d compactadas, %d quentes)%n",
+                (double) historico.getBytesCamadaFria() / historico.getQuantidadeFria(),
+                historico.getQuantidadeFria(), historico.getQuantidadeQuente());
+
+        LocalDateTime ultima = historico.get(historico.size() - 1).getDataHora();
+        medirConsulta("Consulta quente (última hora)", historico, ultima.minusHours(1), ultima);
+        medirConsulta("Consulta fria (1 dia, início)", historico, INICIO, INICIO.plusDays(1));
+        medirConsulta("Consulta fria (1 dia, meio)", historico,
+                INICIO.plusMinutes(quantidade / 2), INICIO.plusMinutes(quantidade / 2).plusDays(1));
+    }
+
+    // uma transação por minuto, poucos números de conta e IDs UUID como no sistema real
+    private static void preencher(List<Transacao> destino, int quantidade){
+        Random rnd = new Random(42);
+        TipoTransacao[] tipos = TipoTransacao.values();
+        for (int i = 0; i < quantidade; i++) {
+            TipoTransacao tipo = tipos[rnd.nextInt(tipos.length)];
+            destino.add(new Transacao(
+                    UUID.randomUUID().toString(),
+                    String.valueOf(1000 + rnd.nextInt(500)),
+                    tipo == TipoTransacao.PIX ? String.valueOf(1000 + rnd.nextInt(500)) : null,
+                    (1 + rnd.nextInt(500_000)) / 100.0,
+                    tipo,
+                    INICIO.plusMinutes(i).plusNanos(rnd.nextInt(1_000_000) * 1000L)
+            ));
+        }
+    }
+
+    private static void medirConsulta(String rotulo, HistoricoTransacoes historico,
+                                      LocalDateTime inicio, LocalDateTime fim){
+        int rodadas = 200;
+        long[] amostras = new long[rodadas];
+        int encontrados = 0;
+        for (int i = 0; i < rodadas; i++) {
+            long t0 = System.nanoTime();
+            encontrados = historico.buscar(null, inicio, fim).size();
+            amostras[i] = System.nanoTime() - t0;
+        }
+        Arrays.sort(amostras);
+        System.out.printf("%-30s: mediana %8.1f µs | p99 %8.1f µs | %d resultados%n",
+                rotulo, amostras[rodadas / 2] / 1000.0, amostras[rodadas * 99 / 100] / 1000.0, encontrados);
+    }
+
+    private static long memoriaUsada(){
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
@@ -0,0 +1,57 @@
+package com.ledgerflow.benchmark;
+
+import com.ledgerflow.carga.GeradorPopulacao;
+import com.ledgerflow.importacao.ExportadorCsv;
+import com.ledgerflow.importacao.ImportadorContas;
+import com.ledgerflow.model.ContaBancaria;
+import com.ledgerflow.repositorio.RepositorioContas;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Mede a importação em lote: exporta uma população sintética com históricos
+ * para CSV e a reimporta com 1 thread e com o número de threads pedido,
+ * reportando linhas/s e pico de heap.
+ * Uso: java -cp out com.ledgerflow.benchmark.BenchmarkImportacao [clientes] [transacoesPorConta] [threads]
+ */
+public class BenchmarkImportacao {
+
+    public static void main(String[] args) throws IOException {
+        int clientes = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int porConta = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        Path dir = Files.createTempDirectory("ledgerflow-importacao");
+        Path arquivoContas = dir.resolve("contas.csv");
+        Path arquivoTransacoes = dir.resolve("transacoes.csv");
+        try{
+            RepositorioContas origem = GeradorPopulacao.gerar(clientes, 42L);
+            List<ContaBancaria> contas = origem.getContas();
+            for (int i = 0; i < contas.size(); i++) {
+                for (int j = 0; j < porConta; j++) {
+                    contas.get(i).depositar(1 + j);
+                }
+            }
+            ExportadorCsv.exportar(origem, arquivoContas, arquivoTransacoes);
+            origem = null;
+            contas = null;
+
+            System.out.printf("=== BENCHMARK: IMPORTAÇÃO EM LOTE (%,d contas = %,d MB, %,d transações = %,d MB, %d CPUs) ===%n",
+                    clientes, Files.size(arquivoContas) >> 20, (long) clientes * porConta, Files.size(arquivoTransacoes) >> 20,
+                    Runtime.getRuntime().availableProcessors());
+            for (int t : threads == 1 ? new int[]{1} : new int[]{1, threads}) {
+                System.gc();
+                System.out.println("--- " + t + " thread(s) ---");
+                new ImportadorContas(t).importar(arquivoContas, arquivoTransacoes).imprimir(System.out);
+            }
+        }
+        finally{
+            Files.deleteIfExists(arquivoContas);
+            Files.deleteIfExists(arquivoTransacoes);
+            Files.deleteIfExists(dir);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.ledgerflow.benchmark;
+
+import com.ledgerflow.enums.ResultadoOperacao;
+import com.ledgerflow.exceptions.InsufficientFundsException;
+import com.ledgerflow.model.ContaBancaria;
+import com.ledgerflow.model.ContaCorrente;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Compara a API com exceções (sacar/transferir) e a API de resultado
+ * (tentarSacar/tentarTransferir) em uma carga com alta taxa de recusa:
+ * operações por segundo e bytes alocados por operação recusada.
+ * Uso: java -cp out com.ledgerflow.benchmark.BenchmarkRejeicoes [operacoes] [percentualRecusa]
+ */
+public class BenchmarkRejeicoes {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) {
+        int operacoes = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int percentualRecusa = args.length > 1 ? Integer.parseInt(args[1]) : 90;
+
+        System.out.println("=== BENCHMARK: RECUSAS SEM EXCEÇÃO (" + operacoes + " operações, "
+                + percentualRecusa + "% recusadas) ===");
+        System.out.printf("%-12s %16s %16s %22s%n", "API", "ops/s", "recusadas", "bytes/op recusada");
+
+        // aquecimento das duas versões antes da medição
+        medir(operacoes / 10, percentualRecusa, true, false);
+        medir(operacoes / 10, percentualRecusa, false, false);
+        medir(operacoes, percentualRecusa, true, true);
+        medir(operacoes, percentualRecusa, false, true);
+    }
+
+    private static void medir(int operacoes, int percentualRecusa, boolean comExcecao, boolean imprimir){
+        ContaBancaria origem = new ContaCorrente("1", "001", "0001", 0.0);
+        ContaBancaria destino = new ContaCorrente("2", "002", "0001", 0.0);
+        ContaBancaria semSaldo = new ContaCorrente("3", "003", "0001", 0.0);
+
+        long recusadas = 0;
+        long bytesRecusas = 0;
+        long inicio = System.nanoTime();
+        for (int i = 0; i < operacoes; i++) {
+            boolean recusa = i % 100 < percentualRecusa;
+            long bytesAntes = recusa ? THREADS.getCurrentThreadAllocatedBytes() : 0;
+            boolean aceita;
+            if(recusa){
+                aceita = comExcecao ? transferirComExcecao(semSaldo, destino, 50.0) : semSaldo.tentarTransferir(50.0, destino).isSucesso();
+            } else {
+                // operação aceita: deposita e transfere de volta para manter os saldos estáveis
+                origem.depositar(10.0);
+                aceita = comExcecao ? transferirComExcecao(origem, destino, 10.0)
+                        : origem.tentarTransferir(10.0, destino) == ResultadoOperacao.OK;
+            }
+            if(recusa){
+                bytesRecusas += THREADS.getCurrentThreadAllocatedBytes() - bytesAntes;
+                if(!aceita){
+                    recusadas++;
+                }
+            }
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        if(!imprimir){
+            return;
+        }
+        System.out.printf("%-12s %,16.0f %,16d %,22.1f%n", comExcecao ? "exceções" : "resultado",
+                operacoes / segundos, recusadas, recusadas == 0 ? 0.0 : (double) bytesRecusas / recusadas);
+    }
+
+    private static boolean transferirComExcecao(ContaBancaria origem, ContaBancaria destino, double valor){
+        try{
+            origem.transferir(valor, destino);
+            return true;
+        }
+        catch(InsufficientFundsException e){
+            return false;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.ledgerflow.benchmark;
+
+import com.ledgerflow.carga.GeradorPopulacao;
+import com.ledgerflow.carga.HistogramaLatencia;
+import com.ledgerflow.model.ContaBancaria;
+import com.ledgerflow.replicacao.ReplicadorPrimario;
+import com.ledgerflow.replicacao.ServidorStandby;
+import com.ledgerflow.repositorio.RepositorioContas;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mede o custo da replicação para um standby quente via loopback: vazão de
+ * transferências no primário sem e com replicação, atraso de replicação
+ * (commit → confirmação do standby) e, ao final, a igualdade dos totais após a promoção.
+ * Uso: java -cp out com.ledgerflow.benchmark.BenchmarkReplicacao [contas] [segundos]
+ */
+public class BenchmarkReplicacao {
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int quantidadeContas = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        long duracaoMs = (args.length > 1 ? Long.parseLong(args[1]) : 3) * 1000;
+
+        System.out.println("=== BENCHMARK: REPLICAÇÃO PARA STANDBY (" + quantidadeContas + " contas, "
+                + Runtime.getRuntime().availableProcessors() + " CPUs) ===");
+        System.out.printf("%-8s %16s %16s %8s %12s %12s %12s%n",
+                "threads", "sem PIX/s", "com PIX/s", "custo", "atraso p50", "atraso p99", "atraso máx");
+
+        for (int threads : new int[]{1, 2, 4}) {
+            Medicao sem = medir(quantidadeContas, threads, duracaoMs, false);
+            Medicao com = medir(quantidadeContas, threads, duracaoMs, true);
+            HistogramaLatencia atrasos = com.atrasos();
+            System.out.printf("%-8d %,16.0f %,16.0f %7.1f%% %10.2fms %10.2fms %10.2fms%n", threads, sem.vazao(), com.vazao(),
+                    100 * (1 - com.vazao() / sem.vazao()), atrasos.percentil(50) / 1e6, atrasos.percentil(99) / 1e6,
+                    atrasos.getMaximo() / 1e6);
+        }
+    }
+
+    private record Medicao(double vazao, HistogramaLatencia atrasos) {
+    }
+
+    private static Medicao medir(int quantidadeContas, int quantidadeThreads, long duracaoMs, boolean replicar)
+            throws IOException, InterruptedException {
+        RepositorioContas repositorio = GeradorPopulacao.gerar(quantidadeContas, 42L);
+        List<ContaBancaria> contas = repositorio.getContas();
+        double totalInicial = contas.stream().mapToDouble(ContaBancaria::getSaldo).sum();
+
+        ServidorStandby standby = replicar ? new ServidorStandby(0) : null;
+        ReplicadorPrimario replicador = replicar ? new ReplicadorPrimario(repositorio, "localhost", standby.getPorta()) : null;
+        if(replicar && !replicador.aguardarConfirmacao(Duration.ofMinutes(1))){
+            throw new IllegalStateException("Estado inicial não replicado: " + replicador.getFalha());
+        }
+
+        AtomicBoolean rodando = new AtomicBoolean(true);
+        LongAdder transferencias = new LongAdder();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < quantidadeThreads; t++) {
+            threads.add(new Thread(() -> {
+                ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                while(rodando.get()){
+                    ContaBancaria origem = contas.get(rnd.nextInt(quantidadeContas));
+                    ContaBancaria destino = contas.get(rnd.nextInt(quantidadeContas));
+                    if(origem.tentarTransferir(1 + rnd.nextInt(50), destino).isSucesso()){
+                        transferencias.increment();
+                    }
+                }
+            }));
+        }
+
+        threads.forEach(Thread::start);
+        Thread.sleep(duracaoMs);
+        rodando.set(false);
+        for (Thread t : threads) {
+            t.join();
+        }
+
+        HistogramaLatencia atrasos = new HistogramaLatencia();
+        if(replicar){
+            replicador.close();
+            atrasos = replicador.getAtrasos();
+            RepositorioContas promovido = standby.promover();
+            double totalPromovido = promovido.getContas().stream().mapToDouble(ContaBancaria::getSaldo).sum();
+            if(Math.abs(totalPromovido - totalInicial) > 1e-3 || promovido.tamanho() != quantidadeContas){
+                throw new IllegalStateException("Standby divergente: total " + totalPromovido + ", esperado " + totalInicial);
+            }
+        }
+        return new Medicao(transferencias.sum() / (duracaoMs / 1000.0), atrasos);
+    }
+}
@@ -0,0 +1,97 @@
+package com.ledgerflow.benchmark;
+
+import com.ledgerflow.exceptions.InsufficientFundsException;
+import com.ledgerflow.model.ContaBancaria;
+import com.ledgerflow.model.ContaCorrente;
+import com.ledgerflow.model.SnapshotSaldos;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mede a escalabilidade das leituras de saldo (getSaldo e snapshots multi-conta)
+ * com escritores fazendo transferências sem parar, e confere que todo snapshot
+ * preserva o total do sistema.
+ * Uso: java -cp out com.ledgerflow.benchmark.BenchmarkSnapshot [contas] [escritores] [segundos]
+ */
+public class BenchmarkSnapshot {
+
+    private static final int CONTAS_POR_SNAPSHOT = 1000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int quantidadeContas = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int escritores = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        long duracaoMs = (args.length > 2 ? Long.parseLong(args[2]) : 2) * 1000;
+
+        List<ContaBancaria> contas = new ArrayList<>();
+        for (int i = 0; i < quantidadeContas; i++) {
+            contas.add(new ContaCorrente("cpf" + i, String.valueOf(i), "000" + (i % 10), 1000.0));
+        }
+        double totalEsperado = 1000.0 * quantidadeContas;
+
+        System.out.println("=== BENCHMARK: LEITURAS MVCC SOB ESCRITA (" + escritores + " escritores, "
+                + Runtime.getRuntime().availableProcessors() + " CPUs) ===");
+        System.out.printf("%-8s %18s %22s %18s%n", "leitores", "getSaldo/s", "snapshots(1000)/s", "transferências/s");
+
+        for (int leitores : new int[]{0, 1, 2, 4, 8}) {
+            AtomicBoolean rodando = new AtomicBoolean(true);
+            LongAdder leituras = new LongAdder();
+            LongAdder snapshots = new LongAdder();
+            LongAdder transferencias = new LongAdder();
+            List<Thread> threads = new ArrayList<>();
+
+            for (int w = 0; w < escritores; w++) {
+                threads.add(new Thread(() -> {
+                    ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                    while(rodando.get()){
+                        ContaBancaria origem = contas.get(rnd.nextInt(quantidadeContas));
+                        ContaBancaria destino = contas.get(rnd.nextInt(quantidadeContas));
+                        try{
+                            origem.transferir(1 + rnd.nextInt(100), destino);
+                            transferencias.increment();
+                        }
+                        catch(InsufficientFundsException | IllegalArgumentException e){
+                            // rejeição esperada em parte da carga
+                        }
+                    }
+                }));
+            }
+            for (int r = 0; r < leitores; r++) {
+                final boolean leitorDeSnapshot = r % 2 == 1;
+                threads.add(new Thread(() -> {
+                    ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                    while(rodando.get()){
+                        if(leitorDeSnapshot){
+                            int inicio = rnd.nextInt(quantidadeContas - CONTAS_POR_SNAPSHOT + 1);
+                            SnapshotSaldos.capturar(contas.subList(inicio, inicio + CONTAS_POR_SNAPSHOT));
+                            snapshots.increment();
+                        } else {
+                            for (int i = 0; i < 1000; i++) {
+                                contas.get(rnd.nextInt(quantidadeContas)).getSaldo();
+                            }
+                            leituras.add(1000);
+                        }
+                    }
+                }));
+            }
+
+            threads.forEach(Thread::start);
+            Thread.sleep(duracaoMs);
+            rodando.set(false);
+            for (Thread t : threads) {
+                t.join();
+            }
+
+            double total = SnapshotSaldos.capturar(contas).getTotal();
+            if(total != totalEsperado){
+                throw new IllegalStateException("Snapshot inconsistente: " + total + " != " + totalEsperado);
+            }
+            double segundos = duracaoMs / 1000.0;
+            System.out.printf("%-8d %,18.0f %,22.0f %,18.0f%n", leitores,
+                    leituras.sum() / segundos, snapshots.sum() / segundos, transferencias.sum() / segundos);
+        }
+    }
+}
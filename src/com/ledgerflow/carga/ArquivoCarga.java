@@ -0,0 +1,60 @@
+package com.ledgerflow.carga;
+
+import com.ledgerflow.enums.TipoOperacao;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Gravação e leitura de cargas em arquivo binário, para reprodução posterior.
+ * Formato: cabeçalho (assinatura, versão, clientes, semente da população,
+ * quantidade) seguido de um registro de 17 bytes por operação.
+ */
+public final class ArquivoCarga {
+
+    private static final int ASSINATURA = 0x4C46574C; // "LFWL"
+    private static final int VERSAO = 1;
+    private static final TipoOperacao[] TIPOS = TipoOperacao.values();
+
+    private ArquivoCarga(){
+    }
+
+    public static void gravar(CargaTrabalho carga, Path arquivo) throws IOException{
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(arquivo), 1 << 16))) {
+            out.writeInt(ASSINATURA);
+            out.writeInt(VERSAO);
+            out.writeInt(carga.getQuantidadeClientes());
+            out.writeLong(carga.getSementePopulacao());
+            out.writeInt(carga.tamanho());
+            for (int i = 0; i < carga.tamanho(); i++) {
+                out.writeByte(carga.getTipo(i).ordinal());
+                out.writeInt(carga.getOrigem(i));
+                out.writeInt(carga.getDestino(i));
+                out.writeDouble(carga.getValor(i));
+            }
+        }
+    }
+
+    /**
+     * @throws IOException Se o arquivo não existir, estiver truncado ou não for uma carga LedgerFlow.
+     */
+    public static CargaTrabalho ler(Path arquivo) throws IOException{
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(arquivo), 1 << 16))) {
+            if(in.readInt() != ASSINATURA || in.readInt() != VERSAO){
+                throw new IOException("Arquivo de carga inválido ou de versão incompatível: " + arquivo);
+            }
+            int clientes = in.readInt();
+            long semente = in.readLong();
+            CargaTrabalho carga = new CargaTrabalho(clientes, semente, in.readInt());
+            for (int i = 0; i < carga.tamanho(); i++) {
+                carga.definir(i, TIPOS[in.readByte()], in.readInt(), in.readInt(), in.readDouble());
+            }
+            return carga;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.ledgerflow.carga;
+
+import com.ledgerflow.enums.TipoOperacao;
+
+/**
+ * Sequência de operações de uma carga sintética, em arrays primitivos paralelos
+ * (cerca de 17 bytes por operação) para caber milhões de operações em memória.
+ * As contas são referenciadas pela posição no repositório gerado com a mesma
+ * semente de população, o que torna a reprodução determinística.
+ */
+public final class CargaTrabalho {
+
+    private static final TipoOperacao[] TIPOS = TipoOperacao.values();
+
+    private final int quantidadeClientes;
+    private final long sementePopulacao;
+    private final byte[] tipos;
+    private final int[] origens;
+    private final int[] destinos;
+    private final double[] valores;
+
+    CargaTrabalho(int quantidadeClientes, long sementePopulacao, int quantidadeOperacoes){
+        this.quantidadeClientes = quantidadeClientes;
+        this.sementePopulacao = sementePopulacao;
+        this.tipos = new byte[quantidadeOperacoes];
+        this.origens = new int[quantidadeOperacoes];
+        this.destinos = new int[quantidadeOperacoes];
+        this.valores = new double[quantidadeOperacoes];
+    }
+
+    void definir(int i, TipoOperacao tipo, int origem, int destino, double valor){
+        tipos[i] = (byte) tipo.ordinal();
+        origens[i] = origem;
+        destinos[i] = destino;
+        valores[i] = valor;
+    }
+
+    /** @return Quantidade de clientes da população que a carga pressupõe. */
+    public int getQuantidadeClientes(){
+        return quantidadeClientes;
+    }
+
+    /** @return Semente usada para gerar a população alvo. */
+    public long getSementePopulacao(){
+        return sementePopulacao;
+    }
+
+    public int tamanho(){
+        return tipos.length;
+    }
+
+    public TipoOperacao getTipo(int i){
+        return TIPOS[tipos[i]];
+    }
+
+    public int getOrigem(int i){
+        return origens[i];
+    }
+
+    /** @return Posição da conta destino (apenas PIX; -1 nas demais operações). */
+    public int getDestino(int i){
+        return destinos[i];
+    }
+
+    public double getValor(int i){
+        return valores[i];
+    }
+}
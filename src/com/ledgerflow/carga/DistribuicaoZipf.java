@@ -0,0 +1,76 @@
+package com.ledgerflow.carga;
+
+import java.util.SplittableRandom;
+
+/**
+ * Amostrador Zipfiano por rejeição-inversão (Hörmann &amp; Derflinger), em O(1)
+ * e sem tabelas, viável para populações de milhões de contas.
+ * A posição 0 é a mais popular; expoente 0 equivale à distribuição uniforme.
+ */
+final class DistribuicaoZipf {
+
+    private final int quantidade;
+    private final double expoente;
+    private final double hIntegralX1;
+    private final double hIntegralN;
+    private final double limiteAceite;
+
+    /**
+     * @param quantidade Número de elementos (contas) sorteáveis.
+     * @param expoente Grau de concentração (tipicamente entre 0.8 e 1.2).
+     */
+    DistribuicaoZipf(int quantidade, double expoente){
+        if(quantidade < 1 || expoente < 0){
+            throw new IllegalArgumentException("Parâmetros Zipf inválidos.");
+        }
+        this.quantidade = quantidade;
+        this.expoente = expoente;
+        this.hIntegralX1 = hIntegral(1.5) - 1.0;
+        this.hIntegralN = hIntegral(quantidade + 0.5);
+        this.limiteAceite = 2.0 - hIntegralInversa(hIntegral(2.5) - h(2.0));
+    }
+
+    /** @return Posição sorteada no intervalo [0, quantidade). */
+    int sortear(SplittableRandom rnd){
+        if(expoente == 0){
+            return rnd.nextInt(quantidade);
+        }
+        while(true){
+            double u = hIntegralN + rnd.nextDouble() * (hIntegralX1 - hIntegralN);
+            double x = hIntegralInversa(u);
+            int k = (int) (x + 0.5);
+            if(k < 1){
+                k = 1;
+            } else if(k > quantidade){
+                k = quantidade;
+            }
+            if(k - x <= limiteAceite || u >= hIntegral(k + 0.5) - h(k)){
+                return k - 1;
+            }
+        }
+    }
+
+    private double hIntegral(double x){
+        double logX = Math.log(x);
+        return auxiliar2((1.0 - expoente) * logX) * logX;
+    }
+
+    private double h(double x){
+        return Math.exp(-expoente * Math.log(x));
+    }
+
+    private double hIntegralInversa(double x){
+        double t = Math.max(x * (1.0 - expoente), -1.0);
+        return Math.exp(auxiliar1(t) * x);
+    }
+
+    // log1p(x)/x com série de Taylor perto de zero
+    private static double auxiliar1(double x){
+        return Math.abs(x) > 1e-8 ? Math.log1p(x) / x : 1.0 - x * (0.5 - x * (1.0 / 3.0 - 0.25 * x));
+    }
+
+    // expm1(x)/x com série de Taylor perto de zero
+    private static double auxiliar2(double x){
+        return Math.abs(x) > 1e-8 ? Math.expm1(x) / x : 1.0 + x * 0.5 * (1.0 + x * (1.0 / 3.0) * (1.0 + 0.25 * x));
+    }
+}
@@ -0,0 +1,142 @@
+package com.ledgerflow.carga;
+
+import com.ledgerflow.enums.TipoOperacao;
+import com.ledgerflow.model.ContaBancaria;
+import com.ledgerflow.repositorio.RepositorioContas;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Reproduz uma {@link CargaTrabalho} contra o modelo bancário.
+ * Com taxa alvo, cada operação tem um horário agendado (carga em malha aberta) e a
+ * latência é medida a partir desse horário, de modo que atrasos acumulados aparecem
+ * nos percentis em vez de serem escondidos. Com uma thread, a reprodução é
+ * determinística: mesma carga e mesma população produzem os mesmos saldos finais.
+ */
+public final class ExecutorCarga {
+
+    private static final long ESPERA_MINIMA_NANOS = 50_000;
+
+    private ExecutorCarga(){
+    }
+
+    /**
+     * @param carga Operações a reproduzir.
+     * @param repositorio População alvo (gerada com a semente e o tamanho da carga).
+     * @param opsPorSegundo Taxa alvo; 0 executa o mais rápido possível.
+     * @param threads Número de threads; a operação i vai para a thread i % threads.
+     * @return Relatório de vazão e latências.
+     */
+    public static RelatorioCarga executar(CargaTrabalho carga, RepositorioContas repositorio,
+                                          double opsPorSegundo, int threads) throws InterruptedException{
+        if(repositorio.tamanho() < carga.getQuantidadeClientes()){
+            throw new IllegalArgumentException("A população não corresponde à carga gravada.");
+        }
+        List<ContaBancaria> contas = repositorio.getContas();
+        long intervaloNanos = opsPorSegundo > 0 ? (long) (1e9 / opsPorSegundo) : 0;
+
+        Trabalhador[] trabalhadores = new Trabalhador[threads];
+        Thread[] execucoes = new Thread[threads];
+        long inicio = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            trabalhadores[t] = new Trabalhador(carga, contas, t, threads, inicio, intervaloNanos);
+            execucoes[t] = new Thread(trabalhadores[t], "carga-" + t);
+            execucoes[t].start();
+        }
+        for (Thread execucao : execucoes) {
+            execucao.join();
+        }
+        long duracao = System.nanoTime() - inicio;
+
+        HistogramaLatencia geral = new HistogramaLatencia();
+        Map<TipoOperacao, HistogramaLatencia> porTipo = new EnumMap<>(TipoOperacao.class);
+        long rejeitadas = 0;
+        for (Trabalhador trab : trabalhadores) {
+            geral.combinar(trab.geral);
+            trab.porTipo.forEach((tipo, h) -> porTipo.computeIfAbsent(tipo, k -> new HistogramaLatencia()).combinar(h));
+            rejeitadas += trab.rejeitadas;
+        }
+        return new RelatorioCarga(duracao, rejeitadas, geral, porTipo);
+    }
+
+    /**
+     * Aplica uma única operação.
+     * @return false se a operação foi rejeitada pelas regras de negócio.
+     */
+    static boolean aplicar(TipoOperacao tipo, ContaBancaria origem, ContaBancaria destino, double valor){
+        // API sem exceções: sob carga as recusas são frequentes e não devem custar uma pilha capturada
+        return switch (tipo) {
+            case CONSULTA_SALDO -> {
+                origem.getSaldo();
+                yield true;
+            }
+            case DEPOSITO -> origem.tentarDepositar(valor).isSucesso();
+            case SAQUE -> origem.tentarSacar(valor).isSucesso();
+            case PIX -> origem.tentarTransferir(valor, destino).isSucesso();
+            case EXTRATO -> {
+                origem.buscarExtratoInteligente(null, LocalDateTime.now().minusDays(30), null);
+                yield true;
+            }
+        };
+    }
+
+    private static final class Trabalhador implements Runnable {
+        private final CargaTrabalho carga;
+        private final List<ContaBancaria> contas;
+        private final int primeira;
+        private final int passo;
+        private final long inicio;
+        private final long intervaloNanos;
+        private final HistogramaLatencia geral = new HistogramaLatencia();
+        private final Map<TipoOperacao, HistogramaLatencia> porTipo = new EnumMap<>(TipoOperacao.class);
+        private long rejeitadas;
+
+        Trabalhador(CargaTrabalho carga, List<ContaBancaria> contas, int primeira, int passo,
+                    long inicio, long intervaloNanos){
+            this.carga = carga;
+            this.contas = contas;
+            this.primeira = primeira;
+            this.passo = passo;
+            this.inicio = inicio;
+            this.intervaloNanos = intervaloNanos;
+            for (TipoOperacao tipo : TipoOperacao.values()) {
+                porTipo.put(tipo, new HistogramaLatencia());
+            }
+        }
+
+        @Override
+        public void run(){
+            for (int i = primeira; i < carga.tamanho(); i += passo) {
+                long agendado = intervaloNanos > 0 ? inicio + i * intervaloNanos : System.nanoTime();
+                aguardarAte(agendado);
+
+                TipoOperacao tipo = carga.getTipo(i);
+                int destino = carga.getDestino(i);
+                boolean aceita = aplicar(tipo, contas.get(carga.getOrigem(i)),
+                        destino < 0 ? null : contas.get(destino), carga.getValor(i));
+
+                long latencia = System.nanoTime() - agendado;
+                geral.registrar(latencia);
+                porTipo.get(tipo).registrar(latencia);
+                if(!aceita){
+                    rejeitadas++;
+                }
+            }
+        }
+
+        private static void aguardarAte(long instante){
+            long restante;
+            while((restante = instante - System.nanoTime()) > 0){
+                if(restante > ESPERA_MINIMA_NANOS){
+                    LockSupport.parkNanos(restante - ESPERA_MINIMA_NANOS);
+                } else {
+                    Thread.onSpinWait();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.ledgerflow.carga;
+
+import com.ledgerflow.enums.TipoOperacao;
+
+import java.util.SplittableRandom;
+
+/**
+ * Gera a sequência de operações de uma carga sintética.
+ * Contas de origem e destino são sorteadas com assimetria Zipfiana (poucas contas
+ * concentram a maior parte do tráfego) e os valores seguem faixas típicas por operação.
+ */
+public final class GeradorCarga {
+
+    private GeradorCarga(){
+    }
+
+    /**
+     * @param quantidadeClientes Tamanho da população alvo (ver {@link GeradorPopulacao}).
+     * @param sementePopulacao Semente da população alvo, gravada junto com a carga.
+     * @param quantidadeOperacoes Número de operações a gerar.
+     * @param mix Proporção entre os tipos de operação.
+     * @param expoenteZipf Concentração do acesso às contas (0 = uniforme).
+     * @param semente Semente do sorteio das operações.
+     */
+    public static CargaTrabalho gerar(int quantidadeClientes, long sementePopulacao, int quantidadeOperacoes,
+                                      MixOperacoes mix, double expoenteZipf, long semente){
+        if(quantidadeClientes < 2){
+            throw new IllegalArgumentException("A carga precisa de pelo menos duas contas.");
+        }
+        SplittableRandom rnd = new SplittableRandom(semente);
+        DistribuicaoZipf zipf = new DistribuicaoZipf(quantidadeClientes, expoenteZipf);
+        CargaTrabalho carga = new CargaTrabalho(quantidadeClientes, sementePopulacao, quantidadeOperacoes);
+
+        for (int i = 0; i < quantidadeOperacoes; i++) {
+            TipoOperacao tipo = mix.sortear(rnd.nextDouble());
+            int origem = zipf.sortear(rnd);
+            int destino = -1;
+            double valor = 0;
+
+            switch (tipo) {
+                case DEPOSITO, SAQUE -> valor = centavos(rnd, 10, 2_000);
+                case PIX -> {
+                    destino = zipf.sortear(rnd);
+                    if(destino == origem){
+                        destino = (destino + 1) % quantidadeClientes;
+                    }
+                    valor = centavos(rnd, 1, 500);
+                }
+                default -> { }
+            }
+            carga.definir(i, tipo, origem, destino, valor);
+        }
+        return carga;
+    }
+
+    // valor log-uniforme entre min e max, arredondado em centavos
+    private static double centavos(SplittableRandom rnd, double min, double max){
+        double v = min * Math.pow(max / min, rnd.nextDouble());
+        return Math.round(v * 100) / 100.0;
+    }
+}
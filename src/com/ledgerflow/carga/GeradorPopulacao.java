@@ -0,0 +1,75 @@
+package com.ledgerflow.carga;
+
+import com.ledgerflow.enums.TipoChavePix;
+import com.ledgerflow.model.Cliente;
+import com.ledgerflow.model.ContaBancaria;
+import com.ledgerflow.model.ContaCorrente;
+import com.ledgerflow.model.ContaPoupanca;
+import com.ledgerflow.repositorio.RepositorioContas;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Gera uma população bancária sintética e determinística (mesma semente,
+ * mesma população): clientes, contas corrente/poupança e chaves PIX.
+ */
+public final class GeradorPopulacao {
+
+    private static final String[] NOMES = {"Ana", "Bruno", "Carla", "Diego", "Elisa", "Fabio", "Gabriela",
+            "Hugo", "Isabela", "Joao", "Larissa", "Marcos", "Natalia", "Otavio", "Paula", "Rafael"};
+    private static final String[] SOBRENOMES = {"Silva", "Santos", "Oliveira", "Souza", "Lima", "Pereira",
+            "Costa", "Rodrigues", "Almeida", "Nascimento", "Machado", "Carvalho"};
+
+    /** Proporção de contas correntes; o restante é poupança. */
+    private static final double PROPORCAO_CORRENTE = 0.7;
+    private static final int CLIENTES_POR_AGENCIA = 5000;
+
+    private GeradorPopulacao(){
+    }
+
+    /**
+     * @param quantidadeClientes Número de clientes (uma conta por cliente).
+     * @param semente Semente do gerador pseudoaleatório.
+     * @return Repositório com as contas na ordem de geração.
+     */
+    public static RepositorioContas gerar(int quantidadeClientes, long semente){
+        SplittableRandom rnd = new SplittableRandom(semente);
+        RepositorioContas repositorio = new RepositorioContas();
+
+        for (int i = 0; i < quantidadeClientes; i++) {
+            String cpf = completarComZeros(10_000_000_000L + i, 11);
+            String nome = NOMES[rnd.nextInt(NOMES.length)] + " " + SOBRENOMES[rnd.nextInt(SOBRENOMES.length)];
+            String email = "cliente" + i + "@ledgerflow.dev";
+            String telefone = "+5521" + completarComZeros(900_000_000L + i, 9);
+            Cliente cliente = new Cliente(nome, cpf, email, telefone);
+
+            String numero = completarComZeros(i + 1, 8);
+            String agencia = completarComZeros(1 + i / CLIENTES_POR_AGENCIA, 4);
+            double saldoInicial = rnd.nextInt(1_000_000) / 100.0;
+            ContaBancaria conta = rnd.nextDouble() < PROPORCAO_CORRENTE
+                    ? new ContaCorrente(cpf, numero, agencia, saldoInicial)
+                    : new ContaPoupanca(cpf, numero, agencia, saldoInicial);
+            repositorio.adicionar(cliente, conta);
+
+            // todo cliente tem chave CPF; as demais seguem a adesão típica
+            repositorio.registrarChavePix(cpf, TipoChavePix.CPF, conta);
+            if(rnd.nextDouble() < 0.6){
+                repositorio.registrarChavePix(email, TipoChavePix.EMAIL, conta);
+            }
+            if(rnd.nextDouble() < 0.5){
+                repositorio.registrarChavePix(telefone, TipoChavePix.TELEFONE, conta);
+            }
+            if(rnd.nextDouble() < 0.3){
+                String aleatoria = new UUID(rnd.nextLong(), rnd.nextLong()).toString();
+                repositorio.registrarChavePix(aleatoria, TipoChavePix.ALEATORIA, conta);
+            }
+        }
+        return repositorio;
+    }
+
+    private static String completarComZeros(long valor, int digitos){
+        String texto = Long.toString(valor);
+        return texto.length() >= digitos ? texto : "0".repeat(digitos - texto.length()) + texto;
+    }
+}
@@ -0,0 +1,80 @@
+package com.ledgerflow.carga;
+
+/**
+ * Histograma log-linear de latências em nanossegundos (erro relativo ~3%).
+ * Registro O(1) sem alocação; instâncias por thread são combinadas no final.
+ */
+public final class HistogramaLatencia {
+
+    private static final int SUB_BITS = 5;
+    private static final int SUB_BALDES = 1 << SUB_BITS;
+    private static final int LINEARES = 2 * SUB_BALDES;
+
+    private final long[] contagens = new long[LINEARES + (63 - SUB_BITS) * SUB_BALDES];
+    private long total;
+    private long maximo;
+
+    public void registrar(long nanos){
+        long v = Math.max(nanos, 0);
+        contagens[indice(v)]++;
+        total++;
+        if(v > maximo){
+            maximo = v;
+        }
+    }
+
+    /** Acumula as contagens de outro histograma neste. */
+    public void combinar(HistogramaLatencia outro){
+        for (int i = 0; i < contagens.length; i++) {
+            contagens[i] += outro.contagens[i];
+        }
+        total += outro.total;
+        maximo = Math.max(maximo, outro.maximo);
+    }
+
+    /**
+     * @param percentil Valor entre 0 e 100 (ex.: 99.9).
+     * @return Latência aproximada (nanos) abaixo da qual está a fração pedida das amostras.
+     */
+    public long percentil(double percentil){
+        if(total == 0){
+            return 0;
+        }
+        long alvo = Math.max(1, (long) Math.ceil(total * percentil / 100.0));
+        long acumulado = 0;
+        for (int i = 0; i < contagens.length; i++) {
+            acumulado += contagens[i];
+            if(acumulado >= alvo){
+                return Math.min(limiteSuperior(i), maximo);
+            }
+        }
+        return maximo;
+    }
+
+    public long getTotal(){
+        return total;
+    }
+
+    public long getMaximo(){
+        return maximo;
+    }
+
+    // valores pequenos têm baldes exatos; acima disso, 32 sub-baldes por potência de 2
+    private static int indice(long v){
+        if(v < LINEARES){
+            return (int) v;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(v);
+        int sub = (int) ((v >>> (magnitude - SUB_BITS)) & (SUB_BALDES - 1));
+        return LINEARES + (magnitude - SUB_BITS - 1) * SUB_BALDES + sub;
+    }
+
+    private static long limiteSuperior(int indice){
+        if(indice < LINEARES){
+            return indice;
+        }
+        int magnitude = (indice - LINEARES) / SUB_BALDES + SUB_BITS + 1;
+        int sub = (indice - LINEARES) % SUB_BALDES;
+        return (((long) (SUB_BALDES + sub + 1)) << (magnitude - SUB_BITS)) - 1;
+    }
+}
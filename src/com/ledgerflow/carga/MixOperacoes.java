@@ -0,0 +1,71 @@
+package com.ledgerflow.carga;
+
+import com.ledgerflow.enums.TipoOperacao;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Proporção relativa de cada tipo de operação na carga sintética.
+ * Formato textual: "CONSULTA_SALDO=40,PIX=25,DEPOSITO=15,SAQUE=15,EXTRATO=5".
+ */
+public final class MixOperacoes {
+
+    /** Mix padrão, dominado por consultas e PIX como no tráfego de um app bancário. */
+    public static final String PADRAO = "CONSULTA_SALDO=40,PIX=25,DEPOSITO=15,SAQUE=15,EXTRATO=5";
+
+    private static final TipoOperacao[] TIPOS = TipoOperacao.values();
+
+    private final Map<TipoOperacao, Integer> pesos;
+    private final double[] acumulado = new double[TIPOS.length];
+
+    private MixOperacoes(Map<TipoOperacao, Integer> pesos){
+        this.pesos = pesos;
+        double total = pesos.values().stream().mapToInt(Integer::intValue).sum();
+        if(total <= 0){
+            throw new IllegalArgumentException("O mix de operações precisa de ao menos um peso positivo.");
+        }
+        double soma = 0;
+        for (TipoOperacao tipo : TIPOS) {
+            soma += pesos.getOrDefault(tipo, 0);
+            acumulado[tipo.ordinal()] = soma / total;
+        }
+    }
+
+    /**
+     * Interpreta o mix no formato TIPO=peso separado por vírgulas.
+     * @throws IllegalArgumentException Se o texto tiver tipo ou peso inválido.
+     */
+    public static MixOperacoes parse(String texto){
+        Map<TipoOperacao, Integer> pesos = new EnumMap<>(TipoOperacao.class);
+        for (String parte : texto.split(",")) {
+            String[] kv = parte.trim().split("=");
+            if(kv.length != 2){
+                throw new IllegalArgumentException("Entrada de mix inválida: " + parte);
+            }
+            int peso = Integer.parseInt(kv[1].trim());
+            if(peso < 0){
+                throw new IllegalArgumentException("Peso negativo no mix: " + parte);
+            }
+            pesos.put(TipoOperacao.valueOf(kv[0].trim().toUpperCase()), peso);
+        }
+        return new MixOperacoes(pesos);
+    }
+
+    /** Converte um número uniforme em [0, 1) no tipo de operação correspondente. */
+    TipoOperacao sortear(double u){
+        for (TipoOperacao tipo : TIPOS) {
+            if(u < acumulado[tipo.ordinal()]){
+                return tipo;
+            }
+        }
+        return TIPOS[TIPOS.length - 1];
+    }
+
+    @Override
+    public String toString(){
+        StringBuilder sb = new StringBuilder();
+        pesos.forEach((tipo, peso) -> sb.append(sb.length() == 0 ? "" : ",").append(tipo).append('=').append(peso));
+        return sb.toString();
+    }
+}
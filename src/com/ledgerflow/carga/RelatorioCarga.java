@@ -0,0 +1,66 @@
+package com.ledgerflow.carga;
+
+import com.ledgerflow.enums.TipoOperacao;
+
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Resultado de uma execução de carga: vazão, operações rejeitadas pelas regras
+ * de negócio e percentis de latência (geral e por tipo de operação).
+ */
+public final class RelatorioCarga {
+
+    private final long duracaoNanos;
+    private final long rejeitadas;
+    private final HistogramaLatencia geral;
+    private final Map<TipoOperacao, HistogramaLatencia> porTipo;
+
+    RelatorioCarga(long duracaoNanos, long rejeitadas, HistogramaLatencia geral,
+                   Map<TipoOperacao, HistogramaLatencia> porTipo){
+        this.duracaoNanos = duracaoNanos;
+        this.rejeitadas = rejeitadas;
+        this.geral = geral;
+        this.porTipo = new EnumMap<>(porTipo);
+    }
+
+    public long getOperacoes(){
+        return geral.getTotal();
+    }
+
+    public long getRejeitadas(){
+        return rejeitadas;
+    }
+
+    public double getVazao(){
+        return geral.getTotal() / (duracaoNanos / 1e9);
+    }
+
+    public HistogramaLatencia getLatencias(){
+        return geral;
+    }
+
+    public HistogramaLatencia getLatencias(TipoOperacao tipo){
+        return porTipo.get(tipo);
+    }
+
+    public void imprimir(PrintStream out){
+        out.printf("Operações: %,d (%,d rejeitadas pelas regras de negócio) em %.2f s%n",
+                geral.getTotal(), rejeitadas, duracaoNanos / 1e9);
+        out.printf("Vazão: %,.0f ops/s%n", getVazao());
+        out.printf("%-15s %12s %10s %10s %10s %10s %10s%n", "Latência (µs)", "ops", "p50", "p90", "p99", "p99.9", "máx");
+        linha(out, "GERAL", geral);
+        porTipo.forEach((tipo, h) -> {
+            if(h.getTotal() > 0){
+                linha(out, tipo.name(), h);
+            }
+        });
+    }
+
+    private static void linha(PrintStream out, String rotulo, HistogramaLatencia h){
+        out.printf("%-15s %,12d %10.1f %10.1f %10.1f %10.1f %10.1f%n", rotulo, h.getTotal(),
+                h.percentil(50) / 1e3, h.percentil(90) / 1e3, h.percentil(99) / 1e3,
+                h.percentil(99.9) / 1e3, h.getMaximo() / 1e3);
+    }
+}
@@ -0,0 +1,13 @@
+package com.ledgerflow.enums;
+
+/**
+ * Prioridade de admissão de uma operação, da mais urgente para a menos urgente.
+ */
+public enum PrioridadeOperacao {
+    /** Consultas de saldo e PIX de pequeno valor (interativos). */
+    ALTA,
+    /** Depósitos, saques e PIX comuns. */
+    NORMAL,
+    /** Trabalhos em lote (extratos longos, importações, reprocessamentos). */
+    BAIXA
+}
@@ -0,0 +1,7 @@
+package com.ledgerflow.enums;
+
+public enum Recorrencia {
+    UNICA,
+    SEMANAL,
+    MENSAL
+}
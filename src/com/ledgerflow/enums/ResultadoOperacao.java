@@ -0,0 +1,19 @@
+package com.ledgerflow.enums;
+
+/**
+ * Resultado das operações "tentar" da conta (tentarDepositar, tentarSacar, tentarTransferir).
+ * As rejeições são constantes pré-alocadas: recusar uma operação não cria exceção
+ * nem captura pilha, o que importa quando as recusas são frequentes sob carga.
+ */
+public enum ResultadoOperacao {
+    OK,
+    SALDO_INSUFICIENTE,
+    VALOR_INVALIDO,
+    AUTO_TRANSFERENCIA,
+    LIMITE_EXCEDIDO;
+
+    /** @return true se a operação foi efetivada. */
+    public boolean isSucesso(){
+        return this == OK;
+    }
+}
@@ -0,0 +1,8 @@
+package com.ledgerflow.enums;
+
+public enum StatusAgendamento {
+    PENDENTE,
+    EXECUTADO,
+    CANCELADO,
+    FALHOU
+}
@@ -0,0 +1,9 @@
+package com.ledgerflow.enums;
+
+public enum TipoOperacao {
+    CONSULTA_SALDO,
+    DEPOSITO,
+    SAQUE,
+    PIX,
+    EXTRATO
+}
@@ -0,0 +1,13 @@
+package com.ledgerflow.exceptions;
+
+/**
+ * Operação recusada pelo controle de admissão por sobrecarga.
+ * Sem pilha capturada: a recusa precisa ser barata justamente quando o sistema está saturado,
+ * e o mesmo objeto pode ser reutilizado em todas as recusas.
+ */
+public class SobrecargaException extends RuntimeException{
+
+    public SobrecargaException(String mensagem){
+        super(mensagem, null, false, false);
+    }
+}
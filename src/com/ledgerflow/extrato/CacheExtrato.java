@@ -0,0 +1,325 @@
+package com.ledgerflow.extrato;
+
+import com.ledgerflow.enums.TipoTransacao;
+import com.ledgerflow.model.ContaBancaria;
+import com.ledgerflow.model.Transacao;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache de extratos já filtrados e formatados, separado por conta.
+ * Cada consulta (tipo + período) guarda apenas as linhas renderizadas (com o instante de
+ * cada uma, quando há janela de dias) e até que posição do histórico já foi examinada.
+ * Como o histórico só cresce por anexação, uma consulta repetida apenas examina as
+ * transações novas e descarta do início as que saíram da janela de dias, sem refazer o
+ * filtro nem a formatação do extrato inteiro.
+ * Limites: consultas por conta e contas (ambos LRU), total de linhas guardadas (contas
+ * usadas há mais tempo saem primeiro; uma consulta maior que o total não é guardada) e
+ * idade máxima da entrada. Assim, o histórico frio compactado não volta inteiro à memória
+ * por causa de uma conta muito consultada.
+ * Seguro para uso concorrente: o mapa de contas é concorrente e cada conta tem sua
+ * própria trava, de modo que uma falha em uma conta não atrasa consultas de outras.
+ */
+public class CacheExtrato {
+
+    public static final int CONSULTAS_POR_CONTA_PADRAO = 8;
+    public static final int CONTAS_PADRAO = 1024;
+    public static final long LINHAS_PADRAO = 200_000;
+    public static final Duration IDADE_MAXIMA_PADRAO = Duration.ofMinutes(5);
+
+    private record Chave(TipoTransacao tipo, int dias) {
+    }
+
+    /** Resultado materializado de uma consulta; as posições antes de {@code inicio} já saíram da janela. */
+    private static final class Entrada {
+        private final ContaBancaria conta;
+        private final long criadaEmMs;
+        private final List<String> linhas = new ArrayList<>();
+        // instante de cada linha (nanos desde a época); só em consultas com janela de dias
+        private long[] instantes;
+        private int inicio;
+        private int examinadas;
+
+        private Entrada(ContaBancaria conta, long criadaEmMs, boolean janela){
+            this.conta = conta;
+            this.criadaEmMs = criadaEmMs;
+            this.instantes = janela ? new long[16] : null;
+        }
+
+        private void anexar(String linha, LocalDateTime dataHora){
+            if(instantes != null){
+                if(linhas.size() == instantes.length){
+                    instantes = Arrays.copyOf(instantes, instantes.length * 2);
+                }
+                instantes[linhas.size()] = emNanos(dataHora);
+            }
+            linhas.add(linha);
+        }
+
+        /** @return Quantas linhas deixaram a memória. */
+        private int descartarAntesDe(LocalDateTime limite){
+            long limiteNanos = emNanos(limite);
+            while(inicio < linhas.size() && instantes[inicio] <= limiteNanos){
+                inicio++;
+            }
+            // compacta quando metade da lista já é lixo
+            if(inicio > 64 && inicio * 2 > linhas.size()){
+                int descartadas = inicio;
+                linhas.subList(0, inicio).clear();
+                System.arraycopy(instantes, descartadas, instantes, 0, linhas.size());
+                inicio = 0;
+                return descartadas;
+            }
+            return 0;
+        }
+
+        private List<String> resultado(){
+            return List.copyOf(linhas.subList(inicio, linhas.size()));
+        }
+    }
+
+    /** Consultas guardadas de uma conta; o monitor do objeto protege as entradas e a contagem de linhas. */
+    private final class ConsultasConta {
+        private final LinkedHashMap<Chave, Entrada> consultas = new LinkedHashMap<>(16, 0.75f, true){
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Chave, Entrada> maisAntiga){
+                if(size() > consultasPorConta){
+                    removidas.increment();
+                    ajustarLinhas(-maisAntiga.getValue().linhas.size());
+                    return true;
+                }
+                return false;
+            }
+        };
+        private volatile long ultimoAcesso;
+        private long linhas;
+        private boolean descartada;
+
+        private void ajustarLinhas(long delta){
+            linhas += delta;
+            linhasTotais.addAndGet(delta);
+        }
+    }
+
+    private final int consultasPorConta;
+    private final int contas;
+    private final long linhasMaximas;
+    private final long idadeMaximaMs;
+    private final Clock relogio;
+    private final ConcurrentHashMap<String, ConsultasConta> porConta = new ConcurrentHashMap<>();
+    private final AtomicLong linhasTotais = new AtomicLong();
+
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder extensoes = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder expiradas = new LongAdder();
+    private final LongAdder removidas = new LongAdder();
+
+    /** Cria o cache com os limites padrão e o relógio do sistema. */
+    public CacheExtrato(){
+        this(CONSULTAS_POR_CONTA_PADRAO, CONTAS_PADRAO, IDADE_MAXIMA_PADRAO, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Cria o cache com o limite padrão de {@value #LINHAS_PADRAO} linhas guardadas.
+     * @see #CacheExtrato(int, int, long, Duration, Clock)
+     */
+    public CacheExtrato(int consultasPorConta, int contas, Duration idadeMaxima, Clock relogio){
+        this(consultasPorConta, contas, LINHAS_PADRAO, idadeMaxima, relogio);
+    }
+
+    /**
+     * @param consultasPorConta Máximo de consultas distintas guardadas por conta.
+     * @param contas Máximo de contas com consultas em cache.
+     * @param linhasMaximas Máximo de linhas formatadas guardadas no cache inteiro.
+     * @param idadeMaxima Tempo após o qual uma entrada é refeita do zero.
+     * @param relogio Relógio usado para a idade das entradas e para a janela de dias.
+     */
+    public CacheExtrato(int consultasPorConta, int contas, long linhasMaximas, Duration idadeMaxima, Clock relogio){
+        if(consultasPorConta <= 0 || contas <= 0 || linhasMaximas <= 0){
+            throw new IllegalArgumentException("Os limites do cache devem ser positivos.");
+        }
+        this.consultasPorConta = consultasPorConta;
+        this.contas = contas;
+        this.linhasMaximas = linhasMaximas;
+        this.idadeMaximaMs = idadeMaxima.toMillis();
+        this.relogio = relogio;
+    }
+
+    /**
+     * Retorna as linhas do extrato da conta, no mesmo formato de
+     * {@link ContaBancaria#formatarTransacao}.
+     * Consultas de contas diferentes não se bloqueiam: cada conta tem sua própria trava,
+     * e a leitura do histórico e a formatação acontecem só sob ela.
+     * @param conta Conta consultada.
+     * @param tipo Filtro por tipo (null para todos).
+     * @param dias Janela retroativa em dias (0 para o histórico completo).
+     * @return Linhas formatadas, em ordem cronológica.
+     */
+    public List<String> consultar(ContaBancaria conta, TipoTransacao tipo, int dias){
+        if(dias < 0){
+            throw new IllegalArgumentException("O período não pode ser negativo.");
+        }
+        List<String> resultado;
+        do{
+            ConsultasConta consultas = porConta.computeIfAbsent(conta.getNumero(), n -> new ConsultasConta());
+            resultado = consultar(consultas, conta, tipo, dias);
+        } while(resultado == null);
+        limitar();
+        return resultado;
+    }
+
+    /** @return As linhas, ou null se as consultas da conta foram descartadas neste meio-tempo. */
+    private List<String> consultar(ConsultasConta consultas, ContaBancaria conta, TipoTransacao tipo, int dias){
+        synchronized(consultas){
+            if(consultas.descartada){
+                return null;
+            }
+            consultas.ultimoAcesso = System.nanoTime();
+            long agoraMs = relogio.millis();
+            LocalDateTime limite = dias == 0 ? null : LocalDateTime.now(relogio).minusDays(dias);
+
+            Chave chave = new Chave(tipo, dias);
+            Entrada entrada = consultas.consultas.get(chave);
+
+            // outra conta com o mesmo número (ex.: base reimportada) não compartilha as posições examinadas
+            if(entrada != null && (agoraMs - entrada.criadaEmMs > idadeMaximaMs || entrada.conta != conta)){
+                expiradas.increment();
+                consultas.ajustarLinhas(-entrada.linhas.size());
+                entrada = null;
+            }
+            boolean nova = entrada == null;
+            if(nova){
+                falhas.increment();
+                entrada = new Entrada(conta, agoraMs, limite != null);
+                consultas.consultas.put(chave, entrada);
+            }
+
+            // o histórico só cresce por anexação: só as posições novas são lidas (sob a trava da
+            // conta, com cada segmento frio decodificado uma vez)
+            List<Transacao> novas = conta.getTransacoesAPartirDe(entrada.examinadas);
+            if(!nova){
+                if(novas.isEmpty()){
+                    acertos.increment();
+                } else {
+                    extensoes.increment();
+                }
+            }
+
+            int antes = entrada.linhas.size();
+            if(limite != null){
+                antes -= entrada.descartarAntesDe(limite);
+            }
+            for (Transacao t : novas) {
+                if((tipo == null || t.getTipo() == tipo) && (limite == null || t.getDataHora().isAfter(limite))){
+                    entrada.anexar(conta.formatarTransacao(t, conta.getNumero()), t.getDataHora());
+                }
+            }
+            entrada.examinadas += novas.size();
+            consultas.ajustarLinhas(entrada.linhas.size() - antes);
+
+            List<String> resultado = entrada.resultado();
+            // maior que o cache inteiro: responde sem guardar
+            if(entrada.linhas.size() > linhasMaximas){
+                consultas.consultas.remove(chave);
+                consultas.ajustarLinhas(-entrada.linhas.size());
+                removidas.increment();
+            }
+            return resultado;
+        }
+    }
+
+    /** Descarta todas as consultas guardadas da conta. */
+    public void invalidar(ContaBancaria conta){
+        ConsultasConta consultas = porConta.remove(conta.getNumero());
+        if(consultas != null){
+            descartar(consultas);
+        }
+    }
+
+    // acima dos limites de contas ou de linhas, descarta a conta usada há mais tempo
+    // (a varredura só acontece quando algum limite é excedido)
+    private void limitar(){
+        while(porConta.size() > contas || linhasTotais.get() > linhasMaximas){
+            Map.Entry<String, ConsultasConta> maisAntiga = null;
+            for (Map.Entry<String, ConsultasConta> e : porConta.entrySet()) {
+                if(maisAntiga == null || e.getValue().ultimoAcesso < maisAntiga.getValue().ultimoAcesso){
+                    maisAntiga = e;
+                }
+            }
+            if(maisAntiga == null){
+                return;
+            }
+            if(porConta.remove(maisAntiga.getKey(), maisAntiga.getValue())){
+                descartar(maisAntiga.getValue());
+            }
+        }
+    }
+
+    private void descartar(ConsultasConta consultas){
+        synchronized(consultas){
+            consultas.descartada = true;
+            removidas.add(consultas.consultas.size());
+            consultas.consultas.clear();
+            consultas.ajustarLinhas(-consultas.linhas);
+        }
+    }
+
+    private static long emNanos(LocalDateTime dataHora){
+        return dataHora.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + dataHora.getNano();
+    }
+
+    /** @return Consultas respondidas sem examinar nenhuma transação. */
+    public long getAcertos(){
+        return acertos.sum();
+    }
+
+    /** @return Consultas respondidas examinando apenas as transações novas. */
+    public long getExtensoes(){
+        return extensoes.sum();
+    }
+
+    /** @return Consultas que exigiram filtrar e formatar o histórico inteiro. */
+    public long getFalhas(){
+        return falhas.sum();
+    }
+
+    /** @return Entradas refeitas por idade máxima. */
+    public long getExpiradas(){
+        return expiradas.sum();
+    }
+
+    /** @return Entradas descartadas pelos limites de tamanho ou por invalidação. */
+    public long getRemovidas(){
+        return removidas.sum();
+    }
+
+    /** @return Linhas formatadas guardadas no momento (inclui as que aguardam compactação). */
+    public long getLinhas(){
+        return linhasTotais.get();
+    }
+
+    /** @return Fração das consultas atendidas pelo cache (acertos e extensões). */
+    public double getTaxaAcerto(){
+        long atendidas = acertos.sum() + extensoes.sum();
+        long total = atendidas + falhas.sum();
+        return total == 0 ? 0.0 : (double) atendidas / total;
+    }
+
+    @Override
+    public String toString(){
+        return String.format("CacheExtrato[acertos=%d, extensoes=%d, falhas=%d, expiradas=%d, removidas=%d, linhas=%d, taxa=%.1f%%]",
+                getAcertos(), getExtensoes(), getFalhas(), getExpiradas(), getRemovidas(), getLinhas(), 100 * getTaxaAcerto());
+    }
+}
@@ -0,0 +1,217 @@
+package com.ledgerflow.historico;
+
+import com.ledgerflow.enums.TipoTransacao;
+import com.ledgerflow.model.Transacao;
+
+import java.time.LocalDateTime;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Log transacional em camadas (append-only).
+ * As transações recentes ficam em uma janela quente de objetos {@link Transacao};
+ * quando a janela transborda, o bloco mais antigo é compactado em um
+ * {@link SegmentoFrio} imutável. Para quem consome, continua sendo uma lista
+ * comum: leituras que alcançam a camada fria decodificam os segmentos sob demanda.
+ * Remoções e substituições não são suportadas (imutabilidade do log).
+ */
+public class HistoricoTransacoes extends AbstractList<Transacao> {
+
+    /** Quantidade mínima de transações mantidas como objetos na janela quente. */
+    public static final int JANELA_QUENTE_PADRAO = 512;
+
+    /** Quantidade de transações por segmento frio compactado. */
+    public static final int TAMANHO_SEGMENTO_PADRAO = 1024;
+
+    private final int limiteJanelaQuente;
+    private final int tamanhoSegmento;
+    private final ArrayList<Transacao> janelaQuente = new ArrayList<>();
+    private final ArrayList<SegmentoFrio> segmentos = new ArrayList<>();
+    private int quantidadeFria;
+
+    /**
+     * Construtor com os tamanhos padrão de janela quente e de segmento.
+     */
+    public HistoricoTransacoes(){
+        this(JANELA_QUENTE_PADRAO, TAMANHO_SEGMENTO_PADRAO);
+    }
+
+    /**
+     * @param limiteJanelaQuente Transações recentes sempre mantidas descompactadas.
+     * @param tamanhoSegmento Transações agrupadas em cada segmento frio.
+     * @throws IllegalArgumentException Se algum dos tamanhos for menor que 1.
+     */
+    public HistoricoTransacoes(int limiteJanelaQuente, int tamanhoSegmento){
+        if(limiteJanelaQuente < 1 || tamanhoSegmento < 1){
+            throw new IllegalArgumentException("Os tamanhos da janela quente e do segmento devem ser positivos.");
+        }
+        this.limiteJanelaQuente = limiteJanelaQuente;
+        this.tamanhoSegmento = tamanhoSegmento;
+    }
+
+    @Override
+    public boolean add(Transacao trans){
+        janelaQuente.add(trans);
+        modCount++;
+
+        // histerese: só compacta quando sobra um segmento inteiro além da janela
+        if(janelaQuente.size() >= limiteJanelaQuente + tamanhoSegmento){
+            List<Transacao> maisAntigas = janelaQuente.subList(0, tamanhoSegmento);
+            segmentos.add(SegmentoFrio.compactar(maisAntigas, quantidadeFria));
+            quantidadeFria += tamanhoSegmento;
+            maisAntigas.clear();
+        }
+        return true;
+    }
+
+    @Override
+    public Transacao get(int indice){
+        if(indice < 0 || indice >= size()){
+            throw new IndexOutOfBoundsException("Índice: " + indice + ", Tamanho: " + size());
+        }
+        if(indice >= quantidadeFria){
+            return janelaQuente.get(indice - quantidadeFria);
+        }
+        SegmentoFrio seg = segmentoDaPosicao(indice);
+        return seg.decodificar(indice - seg.getPosicaoInicial());
+    }
+
+    @Override
+    public int size(){
+        return quantidadeFria + janelaQuente.size();
+    }
+
+    /**
+     * Percorre o histórico decodificando cada segmento frio uma única vez.
+     * Como os iteradores de {@link AbstractList}, falha rápido com
+     * {@link ConcurrentModificationException} se o histórico mudar durante o percurso
+     * (uma compactação deslocaria a janela quente, pulando ou repetindo transações).
+     */
+    @Override
+    public Iterator<Transacao> iterator(){
+        return new Iterator<>() {
+            private final int modCountEsperado = modCount;
+            private int proximoSegmento = 0;
+            private Transacao[] blocoAtual = new Transacao[0];
+            private int posBloco = 0;
+            private int posQuente = 0;
+
+            @Override
+            public boolean hasNext(){
+                return posBloco < blocoAtual.length
+                        || proximoSegmento < segmentos.size()
+                        || posQuente < janelaQuente.size();
+            }
+
+            @Override
+            public Transacao next(){
+                if(modCount != modCountEsperado){
+                    throw new ConcurrentModificationException();
+                }
+                if(posBloco < blocoAtual.length){
+                    return blocoAtual[posBloco++];
+                }
+                if(proximoSegmento < segmentos.size()){
+                    blocoAtual = segmentos.get(proximoSegmento++).decodificarTudo();
+                    posBloco = 0;
+                    return blocoAtual[posBloco++];
+                }
+                if(posQuente < janelaQuente.size()){
+                    return janelaQuente.get(posQuente++);
+                }
+                throw new NoSuchElementException();
+            }
+        };
+    }
+
+    /**
+     * Consulta por tipo e período que só decodifica os segmentos frios cujo
+     * intervalo temporal alcança o filtro; consultas recentes ficam na janela quente.
+     * @param tipo Filtro por TipoTransacao (null para todos)
+     * @param inicio Data inicial do intervalo (null para sem limite inferior)
+     * @param fim Data final do intervalo (null para sem limite superior)
+     * @return Lista de transações que atendem aos critérios, em ordem de inserção.
+     */
+    public List<Transacao> buscar(TipoTransacao tipo, LocalDateTime inicio, LocalDateTime fim){
+        List<Transacao> resultado = new ArrayList<>();
+        for (SegmentoFrio seg : segmentos) {
+            if(seg.intersecta(inicio, fim)){
+                seg.filtrar(tipo, inicio, fim, resultado);
+            }
+        }
+        for (Transacao t : janelaQuente) {
+            if((tipo == null || t.getTipo() == tipo)
+                    && (inicio == null || !t.getDataHora().isBefore(inicio))
+                    && (fim == null || !t.getDataHora().isAfter(fim))){
+                resultado.add(t);
+            }
+        }
+        return resultado;
+    }
+
+    /** @return Quantidade de transações mantidas como objetos na janela quente. */
+    public int getQuantidadeQuente(){
+        return janelaQuente.size();
+    }
+
+    /** @return Quantidade de transações compactadas nos segmentos frios. */
+    public int getQuantidadeFria(){
+        return quantidadeFria;
+    }
+
+    /** @return Estimativa de bytes ocupados pela camada fria. */
+    public long getBytesCamadaFria(){
+        long total = 0;
+        for (SegmentoFrio seg : segmentos) {
+            total += seg.bytesOcupados();
+        }
+        return total;
+    }
+
+    /**
+     * Cópia das transações a partir da posição informada, em ordem de inserção.
+     * Cada segmento frio alcançado é decodificado inteiro uma única vez, sem o custo
+     * do acesso direto por posição (que refaz o trecho desde o ponto do índice).
+     * @param posicao Primeira posição copiada (0 a {@link #size()}).
+     */
+    public List<Transacao> aPartirDe(int posicao){
+        if(posicao < 0 || posicao > size()){
+            throw new IndexOutOfBoundsException("Posição: " + posicao + ", Tamanho: " + size());
+        }
+        List<Transacao> resultado = new ArrayList<>(size() - posicao);
+        if(posicao < quantidadeFria){
+            for (int i = indiceSegmento(posicao); i < segmentos.size(); i++) {
+                SegmentoFrio seg = segmentos.get(i);
+                Transacao[] bloco = seg.decodificarTudo();
+                int inicio = Math.max(0, posicao - seg.getPosicaoInicial());
+                resultado.addAll(Arrays.asList(bloco).subList(inicio, bloco.length));
+            }
+        }
+        resultado.addAll(janelaQuente.subList(Math.max(0, posicao - quantidadeFria), janelaQuente.size()));
+        return resultado;
+    }
+
+    private SegmentoFrio segmentoDaPosicao(int indice){
+        return segmentos.get(indiceSegmento(indice));
+    }
+
+    // busca binária pelo segmento que contém a posição lógica informada
+    private int indiceSegmento(int indice){
+        int baixo = 0;
+        int alto = segmentos.size() - 1;
+        while(baixo < alto){
+            int meio = (baixo + alto + 1) >>> 1;
+            if(segmentos.get(meio).getPosicaoInicial() <= indice){
+                baixo = meio;
+            } else {
+                alto = meio - 1;
+            }
+        }
+        return baixo;
+    }
+}
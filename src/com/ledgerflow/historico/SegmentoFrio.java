@@ -0,0 +1,350 @@
+package com.ledgerflow.historico;
+
+import com.ledgerflow.enums.TipoTransacao;
+import com.ledgerflow.model.Transacao;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Bloco imutável e compactado de transações antigas (camada fria do histórico).
+ * Cada registro é gravado como uma sequência de bytes:
+ * carimbo de tempo em delta (varint zigzag), valor em centavos (varint),
+ * números de conta codificados por dicionário e ID UUID em 16 bytes.
+ * Valores ou IDs que não cabem na forma compacta são gravados integralmente,
+ * de modo que a decodificação sempre devolve a transação original.
+ */
+final class SegmentoFrio {
+
+    // Layout do byte de marcação de cada registro
+    private static final int MASCARA_TIPO = 0x07;
+    private static final int FLAG_VALOR_CENTAVOS = 0x08;
+    private static final int FLAG_ID_UUID = 0x10;
+    private static final int FLAG_NANOS_MICRO = 0x20;
+
+    /** Intervalo (em registros) entre pontos de acesso direto do índice esparso. */
+    private static final int PASSO_INDICE = 64;
+
+    private static final TipoTransacao[] TIPOS = TipoTransacao.values();
+
+    private final int posicaoInicial;
+    private final int quantidade;
+    private final byte[] dados;
+    private final String[] dicionario;
+    private final LocalDateTime menorDataHora;
+    private final LocalDateTime maiorDataHora;
+
+    // índice esparso: offset em bytes e segundo-base de cada ponto de acesso
+    private final int[] offsetsIndice;
+    private final long[] segundosIndice;
+
+    private SegmentoFrio(int posicaoInicial, int quantidade, byte[] dados, String[] dicionario,
+                         LocalDateTime menorDataHora, LocalDateTime maiorDataHora,
+                         int[] offsetsIndice, long[] segundosIndice){
+        this.posicaoInicial = posicaoInicial;
+        this.quantidade = quantidade;
+        this.dados = dados;
+        this.dicionario = dicionario;
+        this.menorDataHora = menorDataHora;
+        this.maiorDataHora = maiorDataHora;
+        this.offsetsIndice = offsetsIndice;
+        this.segundosIndice = segundosIndice;
+    }
+
+    /**
+     * Compacta um bloco de transações em um segmento imutável.
+     * @param transacoes Transações em ordem de inserção (não pode ser vazia).
+     * @param posicaoInicial Posição lógica da primeira transação no histórico completo.
+     * @return O segmento compactado.
+     */
+    static SegmentoFrio compactar(List<Transacao> transacoes, int posicaoInicial){
+        Escritor out = new Escritor(transacoes.size() * 24);
+        Map<String, Integer> codigos = new HashMap<>();
+        List<String> dicionario = new ArrayList<>();
+
+        int[] offsetsIndice = new int[(transacoes.size() + PASSO_INDICE - 1) / PASSO_INDICE];
+        long[] segundosIndice = new long[offsetsIndice.length];
+
+        LocalDateTime menor = null;
+        LocalDateTime maior = null;
+        long segundoAnterior = 0;
+
+        for (int i = 0; i < transacoes.size(); i++) {
+            Transacao t = transacoes.get(i);
+            LocalDateTime dataHora = t.getDataHora();
+            long segundo = dataHora.toEpochSecond(ZoneOffset.UTC);
+
+            if (i % PASSO_INDICE == 0) {
+                offsetsIndice[i / PASSO_INDICE] = out.tamanho;
+                segundosIndice[i / PASSO_INDICE] = segundo;
+                segundoAnterior = segundo;
+            }
+            if (menor == null || dataHora.isBefore(menor)) menor = dataHora;
+            if (maior == null || dataHora.isAfter(maior)) maior = dataHora;
+
+            int nanos = dataHora.getNano();
+            long centavos = Math.round(t.getValor() * 100);
+            boolean valorEmCentavos = centavos >= 0 && centavos / 100.0 == t.getValor();
+            UUID uuid = comoUuid(t.getId());
+
+            int marcacao = t.getTipo().ordinal();
+            if (valorEmCentavos) marcacao |= FLAG_VALOR_CENTAVOS;
+            if (uuid != null) marcacao |= FLAG_ID_UUID;
+            if (nanos % 1000 == 0) marcacao |= FLAG_NANOS_MICRO;
+            out.byteUnico(marcacao);
+
+            out.varint(zigzag(segundo - segundoAnterior));
+            out.varint((marcacao & FLAG_NANOS_MICRO) != 0 ? nanos / 1000 : nanos);
+            segundoAnterior = segundo;
+
+            if (valorEmCentavos) {
+                out.varint(centavos);
+            } else {
+                out.longFixo(Double.doubleToRawLongBits(t.getValor()));
+            }
+
+            out.varint(codigoDicionario(t.getNumeroContaOrigem(), codigos, dicionario));
+            out.varint(codigoDicionario(t.getNumeroContaDestino(), codigos, dicionario));
+
+            if (uuid != null) {
+                out.longFixo(uuid.getMostSignificantBits());
+                out.longFixo(uuid.getLeastSignificantBits());
+            } else {
+                byte[] id = t.getId().getBytes(StandardCharsets.UTF_8);
+                out.varint(id.length);
+                out.bytes(id);
+            }
+        }
+
+        return new SegmentoFrio(posicaoInicial, transacoes.size(), out.finalizar(),
+                dicionario.toArray(new String[0]), menor, maior, offsetsIndice, segundosIndice);
+    }
+
+    /** @return Posição lógica da primeira transação deste segmento no histórico. */
+    int getPosicaoInicial(){
+        return posicaoInicial;
+    }
+
+    /** @return Quantidade de transações armazenadas no segmento. */
+    int getQuantidade(){
+        return quantidade;
+    }
+
+    /**
+     * Indica se o intervalo temporal do segmento intersecta o filtro informado,
+     * permitindo pular a decodificação de blocos fora do período consultado.
+     */
+    boolean intersecta(LocalDateTime inicio, LocalDateTime fim){
+        return (inicio == null || !maiorDataHora.isBefore(inicio))
+                && (fim == null || !menorDataHora.isAfter(fim));
+    }
+
+    /** @return Estimativa de bytes ocupados pelo segmento (dados, dicionário e índice). */
+    long bytesOcupados(){
+        long total = 16L + dados.length + 12L * offsetsIndice.length + 32;
+        for (String numero : dicionario) {
+            total += 40 + numero.length();
+        }
+        return total;
+    }
+
+    /**
+     * Decodifica uma única transação a partir do ponto de acesso mais próximo.
+     * @param indice Posição relativa ao início do segmento.
+     */
+    Transacao decodificar(int indice){
+        int bloco = indice / PASSO_INDICE;
+        Leitor in = new Leitor(bloco);
+        for (int i = bloco * PASSO_INDICE; i < indice; i++) {
+            in.proxima();
+        }
+        return in.proxima();
+    }
+
+    /** Decodifica todas as transações do segmento, na ordem original. */
+    Transacao[] decodificarTudo(){
+        Transacao[] saida = new Transacao[quantidade];
+        Leitor in = new Leitor(0);
+        for (int i = 0; i < quantidade; i++) {
+            saida[i] = in.proxima();
+        }
+        return saida;
+    }
+
+    /** Decodifica o segmento adicionando em destino apenas as transações que passam no filtro. */
+    void filtrar(TipoTransacao tipo, LocalDateTime inicio, LocalDateTime fim, List<Transacao> destino){
+        for (Transacao t : decodificarTudo()) {
+            if ((tipo == null || t.getTipo() == tipo)
+                    && (inicio == null || !t.getDataHora().isBefore(inicio))
+                    && (fim == null || !t.getDataHora().isAfter(fim))) {
+                destino.add(t);
+            }
+        }
+    }
+
+    // --- CODIFICAÇÃO ---
+
+    private static int codigoDicionario(String numero, Map<String, Integer> codigos, List<String> dicionario){
+        if (numero == null) {
+            return 0;
+        }
+        Integer codigo = codigos.get(numero);
+        if (codigo == null) {
+            dicionario.add(numero);
+            codigo = dicionario.size();
+            codigos.put(numero, codigo);
+        }
+        return codigo;
+    }
+
+    /** Aceita apenas IDs cuja forma canônica reproduz exatamente o texto original. */
+    private static UUID comoUuid(String id){
+        if (id == null || id.length() != 36) {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(id);
+            return uuid.toString().equals(id) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static long zigzag(long v){
+        return (v << 1) ^ (v >> 63);
+    }
+
+    private static long desfazerZigzag(long v){
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    /** Buffer de escrita crescente usado apenas durante a compactação. */
+    private static final class Escritor {
+        private byte[] buf;
+        private int tamanho;
+
+        Escritor(int capacidadeInicial){
+            buf = new byte[Math.max(capacidadeInicial, 16)];
+        }
+
+        void byteUnico(int b){
+            garantir(1);
+            buf[tamanho++] = (byte) b;
+        }
+
+        void varint(long v){
+            garantir(10);
+            while ((v & ~0x7FL) != 0) {
+                buf[tamanho++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            buf[tamanho++] = (byte) v;
+        }
+
+        void longFixo(long v){
+            garantir(8);
+            for (int i = 56; i >= 0; i -= 8) {
+                buf[tamanho++] = (byte) (v >>> i);
+            }
+        }
+
+        void bytes(byte[] b){
+            garantir(b.length);
+            System.arraycopy(b, 0, buf, tamanho, b.length);
+            tamanho += b.length;
+        }
+
+        byte[] finalizar(){
+            return Arrays.copyOf(buf, tamanho);
+        }
+
+        private void garantir(int extra){
+            if (tamanho + extra > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, tamanho + extra));
+            }
+        }
+    }
+
+    /**
+     * Cursor de leitura sequencial sobre os bytes do segmento.
+     * Em cada ponto do índice o delta de tempo foi gravado contra o segundo-base
+     * do ponto, então o cursor reinicia a base ao cruzá-lo.
+     */
+    private final class Leitor {
+        private final byte[] buf = dados;
+        private int pos;
+        private int indice;
+        private long segundoAnterior;
+
+        /** @param bloco Ponto do índice onde a leitura começa. */
+        Leitor(int bloco){
+            this.pos = offsetsIndice[bloco];
+            this.indice = bloco * PASSO_INDICE;
+        }
+
+        Transacao proxima(){
+            if (indice % PASSO_INDICE == 0) {
+                segundoAnterior = segundosIndice[indice / PASSO_INDICE];
+            }
+            indice++;
+            int marcacao = buf[pos++] & 0xFF;
+
+            long segundo = segundoAnterior + desfazerZigzag(varint());
+            int nanos = (int) varint();
+            if ((marcacao & FLAG_NANOS_MICRO) != 0) {
+                nanos *= 1000;
+            }
+            segundoAnterior = segundo;
+
+            double valor = (marcacao & FLAG_VALOR_CENTAVOS) != 0
+                    ? varint() / 100.0
+                    : Double.longBitsToDouble(longFixo());
+
+            String origem = numeroConta((int) varint());
+            String destino = numeroConta((int) varint());
+
+            String id;
+            if ((marcacao & FLAG_ID_UUID) != 0) {
+                id = new UUID(longFixo(), longFixo()).toString();
+            } else {
+                int tamanhoId = (int) varint();
+                id = new String(buf, pos, tamanhoId, StandardCharsets.UTF_8);
+                pos += tamanhoId;
+            }
+
+            return new Transacao(id, origem, destino, valor, TIPOS[marcacao & MASCARA_TIPO],
+                    LocalDateTime.ofEpochSecond(segundo, nanos, ZoneOffset.UTC));
+        }
+
+        private String numeroConta(int codigo){
+            return codigo == 0 ? null : dicionario[codigo - 1];
+        }
+
+        private long varint(){
+            long resultado = 0;
+            int deslocamento = 0;
+            byte b;
+            do {
+                b = buf[pos++];
+                resultado |= (long) (b & 0x7F) << deslocamento;
+                deslocamento += 7;
+            } while ((b & 0x80) != 0);
+            return resultado;
+        }
+
+        private long longFixo(){
+            long v = 0;
+            for (int i = 0; i < 8; i++) {
+                v = (v << 8) | (buf[pos++] & 0xFF);
+            }
+            return v;
+        }
+    }
+}
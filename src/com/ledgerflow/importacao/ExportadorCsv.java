@@ -0,0 +1,120 @@
+package com.ledgerflow.importacao;
+
+import com.ledgerflow.model.Cliente;
+import com.ledgerflow.model.ContaBancaria;
+import com.ledgerflow.model.Transacao;
+import com.ledgerflow.repositorio.RepositorioContas;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grava um repositório nos formatos lidos pelo {@link ImportadorContas}
+ * (contas e históricos, com os rodapés de conferência).
+ */
+public final class ExportadorCsv {
+
+    private ExportadorCsv(){
+    }
+
+    /**
+     * @param repositorio Repositório a exportar.
+     * @param arquivoContas Destino do CSV de contas.
+     * @param arquivoTransacoes Destino do CSV de históricos.
+     */
+    public static void exportar(RepositorioContas repositorio, Path arquivoContas, Path arquivoTransacoes) throws IOException{
+        List<ContaBancaria> contas = repositorio.getContas();
+
+        Map<ContaBancaria, List<String>> chaves = new HashMap<>();
+        repositorio.getContasPorChavePix().forEach((chave, conta) -> chaves.computeIfAbsent(conta, c -> new ArrayList<>()).add(chave));
+
+        try (BufferedWriter out = Files.newBufferedWriter(arquivoContas, StandardCharsets.UTF_8)) {
+            out.write("cpf;nome;email;telefone;numero;agencia;tipo;saldo;chaves\n");
+            long centavos = 0;
+            for (ContaBancaria conta : contas) {
+                Cliente cliente = repositorio.buscarCliente(conta.getCpfTitular());
+                long saldo = emCentavos(conta.getSaldo());
+                centavos += saldo;
+                out.write(conta.getCpfTitular() + ";" + texto(cliente == null ? null : cliente.getNome()) + ";"
+                        + texto(cliente == null ? null : cliente.getEmail()) + ";"
+                        + texto(cliente == null ? null : cliente.getTelefone()) + ";"
+                        + conta.getNumero() + ";" + conta.getAgencia() + ";" + conta.getTipoConta() + ";"
+                        + decimal(saldo) + ";" + chavesDaConta(cliente, chaves.get(conta)) + "\n");
+            }
+            out.write("#TOTAL;" + contas.size() + ";" + decimal(centavos) + "\n");
+        }
+
+        try (BufferedWriter out = Files.newBufferedWriter(arquivoTransacoes, StandardCharsets.UTF_8)) {
+            out.write("conta;id;tipo;valor;dataHora;origem;destino\n");
+            long linhas = 0;
+            long centavos = 0;
+            for (ContaBancaria conta : contas) {
+                for (Transacao t : conta.getTransacoes()) {
+                    long valor = emCentavos(t.getValor());
+                    out.write(conta.getNumero() + ";" + t.getId() + ";" + t.getTipo() + ";" + decimal(valor) + ";"
+                            + DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(t.getDataHora()) + ";" + texto(t.getNumeroContaOrigem()) + ";" + texto(t.getNumeroContaDestino()) + "\n");
+                    linhas++;
+                    centavos += valor;
+                }
+            }
+            out.write("#TOTAL;" + linhas + ";" + decimal(centavos) + "\n");
+        }
+    }
+
+    private static String chavesDaConta(Cliente cliente, List<String> chaves){
+        if(chaves == null){
+            return "";
+        }
+        StringBuilder sb = new StringBuilder();
+        for (String chave : chaves) {
+            if(sb.length() > 0){
+                sb.append('|');
+            }
+            sb.append(tipoDaChave(chave, cliente)).append('=').append(chave);
+        }
+        return sb.toString();
+    }
+
+    // o repositório não guarda o tipo da chave: deduz pelo cadastro do cliente
+    private static String tipoDaChave(String chave, Cliente cliente){
+        if(cliente != null){
+            if(chave.equals(cliente.getCpf())){
+                return "CPF";
+            }
+            if(chave.equals(cliente.getEmail())){
+                return "EMAIL";
+            }
+            if(chave.equals(cliente.getTelefone())){
+                return "TELEFONE";
+            }
+        }
+        return "ALEATORIA";
+    }
+
+    private static long emCentavos(double valor){
+        return Math.round(valor * 100);
+    }
+
+    private static String decimal(long centavos){
+        return BigDecimal.valueOf(centavos, 2).toPlainString();
+    }
+
+    private static String texto(String valor){
+        if(valor == null){
+            return "";
+        }
+        if(valor.indexOf(';') >= 0 || valor.indexOf('\n') >= 0){
+            throw new IllegalArgumentException("Campo com separador não pode ser exportado: " + valor);
+        }
+        return valor;
+    }
+}
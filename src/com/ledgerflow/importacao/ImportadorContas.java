@@ -0,0 +1,384 @@
+package com.ledgerflow.importacao;
+
+import com.ledgerflow.enums.TipoChavePix;
+import com.ledgerflow.enums.TipoConta;
+import com.ledgerflow.enums.TipoTransacao;
+import com.ledgerflow.model.Cliente;
+import com.ledgerflow.model.ContaBancaria;
+import com.ledgerflow.model.ContaCorrente;
+import com.ledgerflow.model.ContaPoupanca;
+import com.ledgerflow.model.Transacao;
+import com.ledgerflow.repositorio.RepositorioContas;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Importação em lote de contas e históricos migrados de outro banco.
+ * Os arquivos são mapeados em memória e divididos em trechos (sempre em quebra
+ * de linha) lidos em paralelo. As contas são todas validadas antes do cadastro;
+ * as transações são aplicadas na ordem do arquivo, à medida que os trechos ficam
+ * prontos, com no máximo alguns trechos em memória ao mesmo tempo.
+ * A importação monta um repositório novo: se qualquer validação falhar, nada é
+ * publicado e o chamador recebe a exceção.
+ * <pre>
+ * contas:     cpf;nome;email;telefone;numero;agencia;tipo;saldo;chaves
+ *             (chaves = TIPO=valor separados por '|', ex.: CPF=123|EMAIL=a@b.com)
+ * transacoes: conta;id;tipo;valor;dataHora;origem;destino
+ *             (a conta dona do histórico; dataHora = yyyy-MM-ddTHH:mm:ss[.fração])
+ * </pre>
+ * Ambos aceitam uma linha de cabeçalho e exigem o rodapé {@code #TOTAL;linhas;somaValores},
+ * usado para conferir que o arquivo chegou inteiro. Valores têm no máximo duas casas
+ * decimais e são somados em centavos. Outras linhas iniciadas por '#' são comentários.
+ */
+public final class ImportadorContas {
+
+    private static final String RODAPE = "#TOTAL;";
+    private static final long TRECHO_MINIMO = 1L << 20;
+    private static final long TRECHO_MAXIMO = 64L << 20;
+    private static final TipoConta[] TIPOS_CONTA = TipoConta.values();
+    private static final TipoTransacao[] TIPOS_TRANSACAO = TipoTransacao.values();
+
+    private final int threads;
+
+    /** Importador com uma thread de leitura por processador. */
+    public ImportadorContas(){
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /** @param threads Threads de leitura dos trechos. */
+    public ImportadorContas(int threads){
+        if(threads <= 0){
+            throw new IllegalArgumentException("A quantidade de threads deve ser positiva.");
+        }
+        this.threads = threads;
+    }
+
+    private record ContaImportada(Cliente cliente, ContaBancaria conta, String chaves) {
+    }
+
+    private record Rodape(long linhas, long centavos) {
+    }
+
+    /** Resultado da leitura de um trecho: registros na ordem do arquivo e totais para conferência. */
+    private static final class Lote<T> {
+        private final List<T> registros = new ArrayList<>();
+        private final List<ContaBancaria> donos = new ArrayList<>();
+        private long centavos;
+        private Rodape rodape;
+    }
+
+    @FunctionalInterface
+    private interface LeitorTrecho<T> {
+        void ler(LeitorCsv leitor, Lote<T> lote) throws IOException;
+    }
+
+    /**
+     * @param arquivoContas CSV de contas.
+     * @param arquivoTransacoes CSV de históricos (null para importar só as contas).
+     * @return Relatório com o repositório montado, vazão e pico de memória.
+     * @throws IOException Se um arquivo não puder ser lido ou falhar na validação.
+     */
+    public RelatorioImportacao importar(Path arquivoContas, Path arquivoTransacoes) throws IOException{
+        reiniciarPicosMemoria();
+        RepositorioContas repositorio = new RepositorioContas();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try{
+            long inicio = System.nanoTime();
+            long linhasContas = importarContas(pool, arquivoContas, repositorio);
+            long fimContas = System.nanoTime();
+            long linhasTransacoes = arquivoTransacoes == null ? 0 : importarTransacoes(pool, arquivoTransacoes, repositorio);
+            long fim = System.nanoTime();
+            return new RelatorioImportacao(repositorio, linhasContas, linhasTransacoes,
+                    fimContas - inicio, fim - fimContas, picoMemoria(), threads);
+        }
+        finally{
+            pool.shutdownNow();
+        }
+    }
+
+    private long importarContas(ExecutorService pool, Path arquivo, RepositorioContas repositorio) throws IOException{
+        List<Lote<ContaImportada>> lotes = new ArrayList<>();
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            long[] limites = dividir(canal, threads);
+            List<Future<Lote<ContaImportada>>> futuros = new ArrayList<>();
+            for (int i = 0; i + 1 < limites.length; i++) {
+                futuros.add(pool.submit(tarefa(canal, arquivo, limites[i], limites[i + 1], "cpf;", this::lerConta)));
+            }
+            for (Future<Lote<ContaImportada>> futuro : futuros) {
+                lotes.add(aguardar(futuro));
+            }
+        }
+
+        Conferencia conferencia = new Conferencia(arquivo);
+        for (Lote<ContaImportada> lote : lotes) {
+            conferencia.somar(lote);
+        }
+        conferencia.validar();
+
+        for (Lote<ContaImportada> lote : lotes) {
+            for (ContaImportada importada : lote.registros) {
+                try{
+                    repositorio.adicionar(importada.cliente(), importada.conta());
+                    registrarChaves(repositorio, importada);
+                }
+                catch(IllegalArgumentException e){
+                    throw new IOException(arquivo + ": " + e.getMessage(), e);
+                }
+            }
+        }
+        return conferencia.linhas;
+    }
+
+    private long importarTransacoes(ExecutorService pool, Path arquivo, RepositorioContas repositorio) throws IOException{
+        Conferencia conferencia = new Conferencia(arquivo);
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            long[] limites = dividir(canal, threads * 4);
+            ArrayDeque<Future<Lote<Transacao>>> emLeitura = new ArrayDeque<>();
+            int proximo = 0;
+            LeitorTrecho<Transacao> leitor = (csv, lote) -> lerTransacao(csv, lote, repositorio);
+            while(proximo + 1 < limites.length || !emLeitura.isEmpty()){
+                // mantém 2 trechos por thread em leitura enquanto o coordenador aplica o mais antigo
+                while(proximo + 1 < limites.length && emLeitura.size() < threads * 2){
+                    emLeitura.add(pool.submit(tarefa(canal, arquivo, limites[proximo], limites[proximo + 1], "conta;", leitor)));
+                    proximo++;
+                }
+                Lote<Transacao> lote = aguardar(emLeitura.poll());
+                conferencia.somar(lote);
+                for (int i = 0; i < lote.registros.size(); i++) {
+                    lote.donos.get(i).restaurarTransacao(lote.registros.get(i));
+                }
+            }
+        }
+        conferencia.validar();
+        return conferencia.linhas;
+    }
+
+    private void lerConta(LeitorCsv csv, Lote<ContaImportada> lote) throws IOException{
+        String cpf = csv.textoObrigatorio("cpf");
+        String nome = csv.texto();
+        String email = csv.texto();
+        String telefone = csv.texto();
+        String numero = csv.textoObrigatorio("numero");
+        String agencia = csv.textoObrigatorio("agencia");
+        TipoConta tipo = csv.constante(TIPOS_CONTA, "tipo");
+        long centavos = csv.centavos();
+        String chaves = csv.texto();
+        csv.fimDaLinha();
+
+        double saldo = centavos / 100.0;
+        ContaBancaria conta = tipo == TipoConta.CORRENTE
+                ? new ContaCorrente(cpf, numero, agencia, saldo)
+                : new ContaPoupanca(cpf, numero, agencia, saldo);
+        lote.registros.add(new ContaImportada(new Cliente(nome, cpf, email, telefone), conta, chaves));
+        lote.centavos += centavos;
+    }
+
+    private void lerTransacao(LeitorCsv csv, Lote<Transacao> lote, RepositorioContas repositorio) throws IOException{
+        String numeroConta = csv.textoObrigatorio("conta");
+        ContaBancaria dono = repositorio.buscarPorNumero(numeroConta);
+        if(dono == null){
+            throw csv.erro("conta inexistente " + numeroConta);
+        }
+        String id = csv.textoObrigatorio("id");
+        TipoTransacao tipo = csv.constante(TIPOS_TRANSACAO, "tipo");
+        long centavos = csv.centavos();
+        if(centavos <= 0){
+            throw csv.erro("valor da transação deve ser positivo");
+        }
+        LocalDateTime dataHora = csv.dataHora();
+        String origem = numeroCanonico(csv.texto(), repositorio);
+        String destino = numeroCanonico(csv.texto(), repositorio);
+        csv.fimDaLinha();
+
+        Transacao trans = new Transacao(id, origem, destino, centavos / 100.0, tipo, dataHora);
+        lote.registros.add(trans);
+        lote.donos.add(dono);
+        lote.centavos += centavos;
+    }
+
+    // reaproveita a String do número da conta cadastrada: milhões de transações apontam para poucas contas
+    private static String numeroCanonico(String numero, RepositorioContas repositorio){
+        if(numero == null){
+            return null;
+        }
+        ContaBancaria conta = repositorio.buscarPorNumero(numero);
+        return conta == null ? numero : conta.getNumero();
+    }
+
+    private static void registrarChaves(RepositorioContas repositorio, ContaImportada importada){
+        if(importada.chaves() == null){
+            return;
+        }
+        for (String par : importada.chaves().split("\\|")) {
+            int igual = par.indexOf('=');
+            if(igual <= 0){
+                throw new IllegalArgumentException("Chave PIX malformada na conta " + importada.conta().getNumero() + ": " + par);
+            }
+            // valueOf rejeita tipos desconhecidos com IllegalArgumentException, tratada pelo chamador
+            TipoChavePix tipo = TipoChavePix.valueOf(par.substring(0, igual));
+            repositorio.registrarChavePix(par.substring(igual + 1), tipo, importada.conta());
+        }
+    }
+
+    private <T> Callable<Lote<T>> tarefa(FileChannel canal, Path arquivo, long inicio, long fim,
+                                         String cabecalho, LeitorTrecho<T> leitorTrecho){
+        return () -> {
+            MappedByteBuffer trecho = canal.map(FileChannel.MapMode.READ_ONLY, inicio, fim - inicio);
+            LeitorCsv csv = new LeitorCsv(trecho, inicio, arquivo.getFileName().toString());
+            Lote<T> lote = new Lote<>();
+            boolean primeira = inicio == 0;
+            while(csv.proximaLinha()){
+                if(primeira && csv.comecaCom(cabecalho)){
+                    csv.pularLinha();
+                } else if(csv.comecaCom(RODAPE)){
+                    lerRodape(csv, lote);
+                } else if(csv.comecaCom("#")){
+                    csv.pularLinha();
+                } else {
+                    if(lote.rodape != null){
+                        throw csv.erro("registro após o rodapé");
+                    }
+                    leitorTrecho.ler(csv, lote);
+                }
+                primeira = false;
+            }
+            return lote;
+        };
+    }
+
+    private static void lerRodape(LeitorCsv csv, Lote<?> lote) throws IOException{
+        if(lote.rodape != null){
+            throw csv.erro("rodapé duplicado");
+        }
+        csv.texto();
+        long linhas = csv.inteiro();
+        long centavos = csv.centavos();
+        csv.fimDaLinha();
+        lote.rodape = new Rodape(linhas, centavos);
+    }
+
+    /** Acumula os totais dos lotes e confere com o rodapé, que deve ser o último registro do arquivo. */
+    private static final class Conferencia {
+        private final Path arquivo;
+        private long linhas;
+        private long centavos;
+        private Rodape rodape;
+
+        private Conferencia(Path arquivo){
+            this.arquivo = arquivo;
+        }
+
+        private void somar(Lote<?> lote) throws IOException{
+            if(rodape != null && !lote.registros.isEmpty()){
+                throw new IOException(arquivo + ": registros após o rodapé");
+            }
+            if(lote.rodape != null){
+                if(rodape != null){
+                    throw new IOException(arquivo + ": rodapé duplicado");
+                }
+                rodape = lote.rodape;
+            }
+            linhas += lote.registros.size();
+            centavos += lote.centavos;
+        }
+
+        private void validar() throws IOException{
+            if(rodape == null){
+                throw new IOException(arquivo + ": rodapé #TOTAL ausente (arquivo truncado?)");
+            }
+            if(rodape.linhas() != linhas || rodape.centavos() != centavos){
+                throw new IOException(String.format("%s: totais divergentes do rodapé (lidos %d linhas / %d centavos, esperados %d / %d)",
+                        arquivo, linhas, centavos, rodape.linhas(), rodape.centavos()));
+            }
+        }
+    }
+
+    /**
+     * Divide o arquivo em trechos que terminam em quebra de linha.
+     * @return Limites dos trechos (o trecho i vai de limites[i] a limites[i+1]).
+     */
+    static long[] dividir(FileChannel canal, int partes) throws IOException{
+        long tamanho = canal.size();
+        long alvo = Math.min(TRECHO_MAXIMO, Math.max(TRECHO_MINIMO, tamanho / partes + 1));
+        List<Long> limites = new ArrayList<>();
+        limites.add(0L);
+        ByteBuffer auxiliar = ByteBuffer.allocate(4096);
+        long posicao = 0;
+        while(posicao < tamanho){
+            posicao = posicao + alvo >= tamanho ? tamanho : proximaQuebra(canal, posicao + alvo, auxiliar);
+            limites.add(posicao);
+        }
+        return limites.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static long proximaQuebra(FileChannel canal, long posicao, ByteBuffer auxiliar) throws IOException{
+        while(true){
+            auxiliar.clear();
+            int lidos = canal.read(auxiliar, posicao);
+            if(lidos <= 0){
+                return canal.size();
+            }
+            for (int i = 0; i < lidos; i++) {
+                if(auxiliar.get(i) == '\n'){
+                    return posicao + i + 1;
+                }
+            }
+            posicao += lidos;
+        }
+    }
+
+    private static <T> T aguardar(Future<T> futuro) throws IOException{
+        try{
+            return futuro.get();
+        }
+        catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new IOException("Importação interrompida", e);
+        }
+        catch(ExecutionException e){
+            if(e.getCause() instanceof IOException io){
+                throw io;
+            }
+            if(e.getCause() instanceof RuntimeException re){
+                throw re;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private static void reiniciarPicosMemoria(){
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if(pool.getType() == MemoryType.HEAP){
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    // soma dos picos de cada região do heap desde o início da importação
+    private static long picoMemoria(){
+        long total = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if(pool.getType() == MemoryType.HEAP){
+                total += pool.getPeakUsage().getUsed();
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,242 @@
+package com.ledgerflow.importacao;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+
+/**
+ * Leitor de campos CSV (separador ';') direto sobre um trecho de arquivo mapeado.
+ * Trabalha em bytes, sem criar String por linha: números e datas são convertidos
+ * no próprio buffer e só os campos textuais viram String. Os erros informam a
+ * posição absoluta no arquivo, já que os trechos são lidos em paralelo.
+ */
+final class LeitorCsv {
+
+    private static final byte SEPARADOR = ';';
+    private static final byte FIM_LINHA = '\n';
+
+    private final ByteBuffer buffer;
+    private final long deslocamento;
+    private final String arquivo;
+    private byte[] auxiliar = new byte[64];
+    private int inicioLinha;
+    private boolean linhaEncerrada;
+
+    /**
+     * @param buffer Trecho mapeado, começando no início de uma linha.
+     * @param deslocamento Posição do trecho no arquivo (para mensagens de erro).
+     * @param arquivo Nome do arquivo (para mensagens de erro).
+     */
+    LeitorCsv(ByteBuffer buffer, long deslocamento, String arquivo){
+        this.buffer = buffer;
+        this.deslocamento = deslocamento;
+        this.arquivo = arquivo;
+    }
+
+    /** Pula linhas vazias; retorna false no fim do trecho. */
+    boolean proximaLinha(){
+        while(buffer.hasRemaining()){
+            byte b = buffer.get(buffer.position());
+            if(b != FIM_LINHA && b != '\r'){
+                inicioLinha = buffer.position();
+                linhaEncerrada = false;
+                return true;
+            }
+            buffer.get();
+        }
+        return false;
+    }
+
+    /** @return true se a linha atual começa com o prefixo (ASCII) informado. */
+    boolean comecaCom(String prefixo){
+        return buffer.limit() - inicioLinha >= prefixo.length() && comparar(inicioLinha, prefixo);
+    }
+
+    /** Descarta o restante da linha atual. */
+    void pularLinha(){
+        while(buffer.hasRemaining() && buffer.get() != FIM_LINHA){
+            // avança até o fim da linha
+        }
+    }
+
+    /** @return O próximo campo como texto (UTF-8), ou null se estiver vazio. */
+    String texto() throws IOException{
+        int inicio = buffer.position();
+        int fim = fimCampo();
+        int tamanho = fim - inicio;
+        if(tamanho == 0){
+            return null;
+        }
+        if(auxiliar.length < tamanho){
+            auxiliar = new byte[Math.max(tamanho, auxiliar.length * 2)];
+        }
+        buffer.get(inicio, auxiliar, 0, tamanho);
+        return new String(auxiliar, 0, tamanho, StandardCharsets.UTF_8);
+    }
+
+    /** @return O próximo campo como texto obrigatório. */
+    String textoObrigatorio(String campo) throws IOException{
+        String valor = texto();
+        if(valor == null){
+            throw erro("campo '" + campo + "' vazio");
+        }
+        return valor;
+    }
+
+    /**
+     * Converte o próximo campo na constante de mesmo nome, comparando os bytes
+     * diretamente (sem criar String por linha).
+     */
+    <E extends Enum<E>> E constante(E[] valores, String campo) throws IOException{
+        int inicio = buffer.position();
+        int fim = fimCampo();
+        for (E valor : valores) {
+            String nome = valor.name();
+            if(nome.length() == fim - inicio && comparar(inicio, nome)){
+                return valor;
+            }
+        }
+        throw erro("valor inválido para '" + campo + "'");
+    }
+
+    /** @return O próximo campo como inteiro não negativo. */
+    long inteiro() throws IOException{
+        int inicio = buffer.position();
+        int fim = fimCampo();
+        if(fim == inicio){
+            throw erro("número vazio");
+        }
+        long valor = 0;
+        for (int i = inicio; i < fim; i++) {
+            valor = valor * 10 + digito(buffer.get(i));
+        }
+        return valor;
+    }
+
+    /** @return O próximo campo como valor monetário em centavos ("123", "123.4" ou "-123.45"). */
+    long centavos() throws IOException{
+        int inicio = buffer.position();
+        int fim = fimCampo();
+        int i = inicio;
+        boolean negativo = i < fim && buffer.get(i) == '-';
+        if(negativo){
+            i++;
+        }
+        if(i == fim){
+            throw erro("valor vazio");
+        }
+        long inteiros = 0;
+        while(i < fim && buffer.get(i) != '.'){
+            inteiros = inteiros * 10 + digito(buffer.get(i++));
+        }
+        long fracao = 0;
+        int casas = 0;
+        if(i < fim){
+            i++;
+            while(i < fim){
+                if(++casas > 2){
+                    throw erro("valor com mais de duas casas decimais");
+                }
+                fracao = fracao * 10 + digito(buffer.get(i++));
+            }
+        }
+        if(casas == 1){
+            fracao *= 10;
+        }
+        long valor = inteiros * 100 + fracao;
+        return negativo ? -valor : valor;
+    }
+
+    /** @return O próximo campo como data e hora ISO (yyyy-MM-ddTHH:mm:ss[.fração]). */
+    LocalDateTime dataHora() throws IOException{
+        int p = buffer.position();
+        int fim = fimCampo();
+        if(fim - p < 19 || buffer.get(p + 4) != '-' || buffer.get(p + 7) != '-' || buffer.get(p + 10) != 'T'
+                || buffer.get(p + 13) != ':' || buffer.get(p + 16) != ':'){
+            throw erro("data/hora fora do formato yyyy-MM-ddTHH:mm:ss");
+        }
+        int nanos = 0;
+        if(fim - p > 19){
+            if(buffer.get(p + 19) != '.' || fim - p > 29){
+                throw erro("fração de segundo inválida");
+            }
+            int casas = 0;
+            for (int i = p + 20; i < fim; i++, casas++) {
+                nanos = nanos * 10 + digito(buffer.get(i));
+            }
+            for (; casas < 9; casas++) {
+                nanos *= 10;
+            }
+        }
+        try{
+            return LocalDateTime.of(numero(p, 4), numero(p + 5, 2), numero(p + 8, 2),
+                    numero(p + 11, 2), numero(p + 14, 2), numero(p + 17, 2), nanos);
+        }
+        catch(DateTimeException e){
+            throw erro("data/hora inválida: " + e.getMessage());
+        }
+    }
+
+    /** Confere que a linha terminou (sem campos sobrando). */
+    void fimDaLinha() throws IOException{
+        if(!linhaEncerrada){
+            throw erro("campos excedentes na linha");
+        }
+        pularLinha();
+    }
+
+    /** @return Exceção com a posição absoluta da linha atual. */
+    IOException erro(String motivo){
+        return new IOException(arquivo + ", linha na posição " + (deslocamento + inicioLinha) + ": " + motivo);
+    }
+
+    // posiciona o buffer após o separador e retorna o fim do campo atual
+    private int fimCampo() throws IOException{
+        if(linhaEncerrada){
+            throw erro("campos faltando na linha");
+        }
+        int limite = buffer.limit();
+        int i = buffer.position();
+        while(i < limite){
+            byte b = buffer.get(i);
+            if(b == SEPARADOR){
+                buffer.position(i + 1);
+                return i;
+            }
+            if(b == FIM_LINHA || b == '\r'){
+                break;
+            }
+            i++;
+        }
+        // último campo: o buffer fica no fim da linha
+        linhaEncerrada = true;
+        buffer.position(i);
+        return i;
+    }
+
+    private boolean comparar(int posicao, String texto){
+        for (int i = 0; i < texto.length(); i++) {
+            if(buffer.get(posicao + i) != texto.charAt(i)){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int numero(int posicao, int digitos) throws IOException{
+        int valor = 0;
+        for (int i = posicao; i < posicao + digitos; i++) {
+            valor = valor * 10 + digito(buffer.get(i));
+        }
+        return valor;
+    }
+
+    private int digito(byte b) throws IOException{
+        if(b < '0' || b > '9'){
+            throw erro("caractere não numérico '" + (char) b + "'");
+        }
+        return b - '0';
+    }
+}
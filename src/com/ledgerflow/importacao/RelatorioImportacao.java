@@ -0,0 +1,63 @@
+package com.ledgerflow.importacao;
+
+import com.ledgerflow.repositorio.RepositorioContas;
+
+import java.io.PrintStream;
+
+/**
+ * Resultado de uma importação em lote: o repositório montado, as linhas lidas,
+ * a vazão de cada fase e o pico de heap observado.
+ */
+public final class RelatorioImportacao {
+
+    private final RepositorioContas repositorio;
+    private final long contas;
+    private final long transacoes;
+    private final long nanosContas;
+    private final long nanosTransacoes;
+    private final long picoMemoria;
+    private final int threads;
+
+    RelatorioImportacao(RepositorioContas repositorio, long contas, long transacoes,
+                        long nanosContas, long nanosTransacoes, long picoMemoria, int threads){
+        this.repositorio = repositorio;
+        this.contas = contas;
+        this.transacoes = transacoes;
+        this.nanosContas = nanosContas;
+        this.nanosTransacoes = nanosTransacoes;
+        this.picoMemoria = picoMemoria;
+        this.threads = threads;
+    }
+
+    /** @return O repositório com as contas, chaves PIX e históricos importados. */
+    public RepositorioContas getRepositorio(){
+        return repositorio;
+    }
+
+    public long getContas(){
+        return contas;
+    }
+
+    public long getTransacoes(){
+        return transacoes;
+    }
+
+    /** @return Linhas por segundo somando as duas fases. */
+    public double getLinhasPorSegundo(){
+        return (contas + transacoes) / ((nanosContas + nanosTransacoes) / 1e9);
+    }
+
+    /** @return Maior ocupação do heap durante a importação, em bytes. */
+    public long getPicoMemoria(){
+        return picoMemoria;
+    }
+
+    public void imprimir(PrintStream out){
+        out.printf("Contas     : %,12d linhas em %6.2f s (%,.0f linhas/s)%n",
+                contas, nanosContas / 1e9, contas / (nanosContas / 1e9));
+        out.printf("Transações : %,12d linhas em %6.2f s (%,.0f linhas/s)%n",
+                transacoes, nanosTransacoes / 1e9, transacoes / (nanosTransacoes / 1e9));
+        out.printf("Total      : %,.0f linhas/s com %d threads de leitura%n", getLinhasPorSegundo(), threads);
+        out.printf("Pico de heap: %,d MB%n", picoMemoria >> 20);
+    }
+}
@@ -0,0 +1,128 @@
+package com.ledgerflow.model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Créditos listrados de uma conta em modo quente.
+ * Cada thread credita em sua própria célula (subsaldo versionado + sublog), sem
+ * disputar a trava principal da conta. A consolidação acontece sob a trava
+ * principal e a de todas as células: os subsaldos voltam para o saldo base e os
+ * sublogs são anexados ao histórico em ordem cronológica, tudo na mesma versão.
+ * Ordem de travas: trava principal antes das células; células em ordem crescente.
+ */
+final class AcumuladorCreditos {
+
+    static final class Celula {
+        private final ReentrantLock trava = new ReentrantLock();
+        private final SaldoVersionado subsaldo = new SaldoVersionado(0.0);
+        private final List<Transacao> pendentes = new ArrayList<>();
+
+        void travar(){
+            trava.lock();
+        }
+
+        void liberar(){
+            trava.unlock();
+        }
+
+        boolean isTravadaPelaThread(){
+            return trava.isHeldByCurrentThread();
+        }
+
+        /** @return Transações aguardando consolidação; deve ser chamado com a trava da célula. */
+        int quantidadePendente(){
+            return pendentes.size();
+        }
+
+        /** Credita na célula; deve ser chamado com a trava da célula e escopo de versão abertos. */
+        void creditar(long versao, double valor, Transacao trans){
+            subsaldo.gravar(versao, subsaldo.atual() + valor);
+            pendentes.add(trans);
+        }
+
+        /** Anexa uma transação sem efeito de saldo (ex.: registro PIX do destino). */
+        void anexar(Transacao trans){
+            pendentes.add(trans);
+        }
+    }
+
+    private final Celula[] celulas;
+    private final int mascara;
+
+    /**
+     * @param quantidadeCelulas Número de células (arredondado para potência de 2).
+     */
+    AcumuladorCreditos(int quantidadeCelulas){
+        int tamanho = quantidadeCelulas <= 1 ? 1 : Integer.highestOneBit(quantidadeCelulas - 1) << 1;
+        this.celulas = new Celula[tamanho];
+        this.mascara = tamanho - 1;
+        for (int i = 0; i < tamanho; i++) {
+            celulas[i] = new Celula();
+        }
+    }
+
+    /** @return A célula fixa da thread atual (mesma célula em chamadas aninhadas). */
+    Celula celulaDaThread(){
+        int h = Thread.currentThread().hashCode() * 0x9E3779B9;
+        return celulas[(h ^ (h >>> 16)) & mascara];
+    }
+
+    int getQuantidadeCelulas(){
+        return celulas.length;
+    }
+
+    void travarTodas(){
+        for (Celula c : celulas) {
+            c.trava.lock();
+        }
+    }
+
+    void liberarTodas(){
+        for (int i = celulas.length - 1; i >= 0; i--) {
+            celulas[i].trava.unlock();
+        }
+    }
+
+    /** Soma (sem trava) dos créditos ainda não consolidados. */
+    double pendente(){
+        double total = 0;
+        for (Celula c : celulas) {
+            total += c.subsaldo.atual();
+        }
+        return total;
+    }
+
+    /** Soma dos subsaldos em uma versão; NaN se alguma célula já descartou a versão. */
+    double pendenteNaVersao(long versao){
+        double total = 0;
+        for (Celula c : celulas) {
+            total += c.subsaldo.naVersao(versao);
+        }
+        return total;
+    }
+
+    /**
+     * Zera os subsaldos e drena os sublogs; exige todas as travas das células.
+     * @param versao Versão do escopo de consolidação.
+     * @param destinoLog Recebe as transações pendentes em ordem cronológica.
+     * @return O total de créditos transferidos para o saldo base.
+     */
+    double drenar(long versao, List<Transacao> destinoLog){
+        double total = 0;
+        int inicio = destinoLog.size();
+        for (Celula c : celulas) {
+            double valor = c.subsaldo.atual();
+            if(valor != 0){
+                total += valor;
+                c.subsaldo.gravar(versao, 0.0);
+            }
+            destinoLog.addAll(c.pendentes);
+            c.pendentes.clear();
+        }
+        destinoLog.subList(inicio, destinoLog.size()).sort(Comparator.comparing(Transacao::getDataHora));
+        return total;
+    }
+}
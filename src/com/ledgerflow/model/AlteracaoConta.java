@@ -0,0 +1,9 @@
+package com.ledgerflow.model;
+
+/**
+ * Efeito de uma escrita confirmada sobre uma conta: variação do saldo e a
+ * transação anexada ao histórico (null quando a escrita só altera o saldo).
+ * Uma operação (ex.: transferência) gera uma alteração por conta e registro.
+ */
+public record AlteracaoConta(ContaBancaria conta, double delta, Transacao transacao) {
+}
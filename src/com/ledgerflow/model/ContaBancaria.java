@@ -1,23 +1,32 @@
 package com.ledgerflow.model;
 
+import com.ledgerflow.enums.ResultadoOperacao;
 import com.ledgerflow.enums.TipoConta;
 import com.ledgerflow.enums.TipoTransacao;
 import com.ledgerflow.exceptions.InsufficientFundsException;
+import com.ledgerflow.historico.HistoricoTransacoes;
 
 import java.time.format.DateTimeFormatter;
 import java.time.LocalDateTime;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.function.Predicate;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 
 /**
  * Representa a entidade base de uma conta bancária no ecossistema LedgerFlow.
  * Esta classe gerencia o estado financeiro, validações de negócio e o
  * log transacional imutável.
+ * Escritas (depósito, saque, transferência) são serializadas por uma trava por conta;
+ * o saldo é versionado (MVCC), então leituras de saldo e snapshots multi-conta
+ * ({@link SnapshotSaldos}) nunca bloqueiam nem são bloqueados pelas escritas.
+ * Contas que recebem muitos créditos simultâneos podem entrar em modo quente
+ * ({@link #ativarModoQuente()}): os créditos vão para células listradas e são
+ * consolidados no saldo base antes de qualquer débito ou leitura do histórico.
  *  @author Gabriel Machado
  * @version 3.0 (Fase de Data API e Qualidade)
  */
@@ -26,9 +35,24 @@ public class ContaBancaria {
     private final String cpfTitular;
     private final String numero;
     private final String agencia;
-    protected double saldo;
+    private final SaldoVersionado saldo;
     private final TipoConta tipoConta;
-    private List<Transacao> transacoes = new ArrayList<>();
+    private final HistoricoTransacoes transacoes = new HistoricoTransacoes();
+
+    // ordem global das travas: transferências travam sempre a conta de menor ordem primeiro
+    private static final AtomicLong SEQUENCIA_TRAVAS = new AtomicLong();
+    private final long ordemTrava = SEQUENCIA_TRAVAS.incrementAndGet();
+    private final ReentrantLock trava = new ReentrantLock();
+
+    // modo quente: créditos listrados em células, consolidados sob a trava principal
+    private static final int LIMITE_PENDENTES_CELULA = 1024;
+    private volatile AcumuladorCreditos acumulador;
+    private volatile boolean modoQuente;
+    // contador de consolidações (par = estável), permite ler base + células sem trava
+    private volatile long consolidacoes;
+
+    // replicação: recebe as escritas confirmadas (null quando a conta não é replicada)
+    private volatile OuvinteCommits ouvinte;
 
     /**
      * Construtor completo para inicialização de conta com saldo customizado.
@@ -42,7 +66,7 @@ public class ContaBancaria {
         this.cpfTitular = cpfTitular;
         this.numero = numero;
         this.agencia = agencia;
-        this.saldo = saldoInicial;
+        this.saldo = new SaldoVersionado(saldoInicial);
         this.tipoConta = tipoConta;
     }
 
@@ -73,21 +97,74 @@ public class ContaBancaria {
         return agencia;
     }
 
-    /** @return O saldo atualizado da conta após as operações de débito e crédito. */
+    /**
+     * Leitura sem trava: nunca espera por depósitos, saques ou transferências em andamento.
+     * @return O saldo atualizado da conta após as operações de débito e crédito.
+     */
     public double getSaldo(){
-        return saldo;
+        AcumuladorCreditos acc = acumulador;
+        if(acc == null){
+            return saldo.atual();
+        }
+        while(true){
+            long antes = consolidacoes;
+            double valor = saldo.atual() + acc.pendente();
+            if((antes & 1) == 0 && antes == consolidacoes){
+                return valor;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Saldo vigente em uma versão publicada do relógio global (usado pelos snapshots).
+     * @return O saldo naquela versão, ou NaN se a versão já foi descartada.
+     */
+    double getSaldoNaVersao(long versao){
+        AcumuladorCreditos acc = acumulador;
+        double base = saldo.naVersao(versao);
+        return acc == null ? base : base + acc.pendenteNaVersao(versao);
     }
 
-    /** @return A lista imutável de transações realizadas (Log Transacional). */
+    /**
+     * @return A lista imutável de transações realizadas (Log Transacional).
+     * Entradas antigas ficam compactadas em camada fria e são decodificadas sob demanda.
+     * A lista é a própria estrutura da conta: percorrê-la com escritas concorrentes exige
+     * usar {@link #buscarExtratoInteligente}, que lê sob a trava da conta.
+     * Em modo quente, os créditos pendentes são consolidados antes do retorno.
+     */
     public List<Transacao> getTransacoes() {
+        if(modoQuente){
+            consolidarCreditos();
+        }
         return transacoes;
     }
 
 
+    /**
+     * Cópia das transações a partir da posição informada, lida sob a trava da conta
+     * (segura com escritas concorrentes). Usada por quem acompanha o histórico de forma
+     * incremental, como o cache de extratos.
+     * @param posicao Primeira posição copiada (até o tamanho atual do histórico).
+     * @return As transações novas (vazia se a posição já é o fim do histórico).
+     */
+    public List<Transacao> getTransacoesAPartirDe(int posicao){
+        consolidarSeQuente();
+        trava.lock();
+        try{
+            return transacoes.aPartirDe(posicao);
+        }
+        finally{
+            trava.unlock();
+        }
+    }
+
+
     //  exibir o extrato:
 
-    DateTimeFormatter fmtData = DateTimeFormatter.ofPattern("dd/MM/yy");
-    DateTimeFormatter fmtHora = DateTimeFormatter.ofPattern("HH:mm");
+    // formatadores são imutáveis: uma instância compartilhada por todas as contas
+    static final DateTimeFormatter fmtData = DateTimeFormatter.ofPattern("dd/MM/yy");
+    static final DateTimeFormatter fmtHora = DateTimeFormatter.ofPattern("HH:mm");
 
     /**
      * Traduz um objeto Transacao em uma representação textual amigável para o usuário.
@@ -128,21 +205,10 @@ public class ContaBancaria {
      * @throws IllegalArgumentException Se o valor for menor ou igual a zero.
      */
     public void depositar(double valor){
-        if(valor <= 0){
-            throw new IllegalArgumentException("O valor do depósito deve ser positivo.");
+        ResultadoOperacao resultado = tentarDepositar(valor);
+        if(resultado != ResultadoOperacao.OK){
+            throw excecao(resultado, "O valor do depósito deve ser positivo.");
         }
-
-        saldo += valor;
-        Transacao trans = new Transacao(
-                UUID.randomUUID().toString(),
-                getNumero(),
-                null,
-                valor,
-                TipoTransacao.DEPOSITO,
-                LocalDateTime.now()
-        );
-
-        transacoes.add(trans);
     }
 
     /**
@@ -153,75 +219,579 @@ public class ContaBancaria {
      * @throws InsufficientFundsException Se o valor exceder o saldo disponível.
      */
     public void sacar(double valor){
+        ResultadoOperacao resultado = tentarSacar(valor);
+        if(resultado != ResultadoOperacao.OK){
+            throw excecao(resultado, "O valor do saque deve ser positivo.");
+        }
+    }
 
-        if(valor <= 0){
-            throw new IllegalArgumentException("O valor do saque deve ser positivo.");
+    /**
+     * Executa uma transferência atômica entre contas.
+     * Garante que a origem seja debitada e o destino creditado simultaneamente.
+     * Possui cláusula de guarda contra auto-transferência (prevenção de loop).
+     *  @param valor Quantia a transferir.
+     * @param contaDestino Objeto da conta que receberá o crédito.
+     * @throws InsufficientFundsException Se a conta de origem não tiver saldo.
+     * @throws IllegalArgumentException Se houver tentativa de transferir para a própria conta.
+     * @see #tentarTransferir(double, ContaBancaria)
+     */
+    public void transferir(double valor, ContaBancaria contaDestino) throws InsufficientFundsException{
+        ResultadoOperacao resultado = tentarTransferir(valor, contaDestino);
+        if(resultado != ResultadoOperacao.OK){
+            throw excecao(resultado, "O valor deve ser maior que zero.");
         }
-        if(valor > this.saldo){
-            throw new InsufficientFundsException("Saldo Insuficiente.");
+    }
+
+    // API sem exceções: rejeições retornam constantes, sem alocação nem captura de pilha
+
+    /**
+     * Depósito que informa a rejeição pelo retorno.
+     * @param valor Quantia a ser depositada.
+     * @return OK ou VALOR_INVALIDO.
+     */
+    public ResultadoOperacao tentarDepositar(double valor){
+        if(valor <= 0){
+            return ResultadoOperacao.VALOR_INVALIDO;
         }
 
-        saldo -= valor;
         Transacao trans = new Transacao(
                 UUID.randomUUID().toString(),
                 getNumero(),
                 null,
                 valor,
-                TipoTransacao.SAQUE,
+                TipoTransacao.DEPOSITO,
                 LocalDateTime.now()
         );
 
-        transacoes.add(trans);
+        // em modo quente o crédito vai para a célula da thread, sem disputar a trava principal
+        if(modoQuente && !trava.isHeldByCurrentThread() && creditarEmCelula(valor, trans)){
+            return ResultadoOperacao.OK;
+        }
+
+        travarEscrita();
+        RelogioVersoes.Escopo escopo = RelogioVersoes.abrir();
+        try{
+            consolidarPendentes(escopo.getVersao());
+            saldo.gravar(escopo.getVersao(), saldo.atual() + valor);
+            transacoes.add(trans);
+            registrar(escopo, valor, trans);
+        }
+        finally{
+            RelogioVersoes.fechar(escopo);
+            liberarEscrita();
+        }
+        return ResultadoOperacao.OK;
     }
 
     /**
-     * Executa uma transferência atômica entre contas.
-     * Garante que a origem seja debitada e o destino creditado simultaneamente.
-     * Possui cláusula de guarda contra auto-transferência (prevenção de loop).
-     *  @param valor Quantia a transferir.
-     * @param contaDestino Objeto da conta que receberá o crédito.
-     * @throws InsufficientFundsException Se a conta de origem não tiver saldo.
-     * @throws IllegalArgumentException Se houver tentativa de transferir para a própria conta.
+     * Saque que informa a rejeição pelo retorno.
+     * Subclasses com regras próprias (ex.: limite) sobrescrevem este método;
+     * {@link #sacar} e {@link #tentarTransferir} passam sempre por ele.
+     * @param valor Quantia a ser sacada.
+     * @return OK, VALOR_INVALIDO ou SALDO_INSUFICIENTE.
      */
-    public void transferir(double valor, ContaBancaria contaDestino) throws InsufficientFundsException{
+    public ResultadoOperacao tentarSacar(double valor){
+
+        if(valor <= 0){
+            return ResultadoOperacao.VALOR_INVALIDO;
+        }
+
+        travarEscrita();
+        RelogioVersoes.Escopo escopo = RelogioVersoes.abrir();
+        try{
+            // débito exato: créditos pendentes entram no saldo base antes da conferência
+            consolidarPendentes(escopo.getVersao());
+            if(valor > saldo.atual()){
+                return ResultadoOperacao.SALDO_INSUFICIENTE;
+            }
+
+            saldo.gravar(escopo.getVersao(), saldo.atual() - valor);
+            Transacao trans = new Transacao(
+                    UUID.randomUUID().toString(),
+                    getNumero(),
+                    null,
+                    valor,
+                    TipoTransacao.SAQUE,
+                    LocalDateTime.now()
+            );
+
+            transacoes.add(trans);
+            registrar(escopo, -valor, trans);
+        }
+        finally{
+            RelogioVersoes.fechar(escopo);
+            liberarEscrita();
+        }
+        return ResultadoOperacao.OK;
+    }
+
+    /**
+     * Transferência que informa a rejeição pelo retorno.
+     * As duas contas são travadas (em ordem global, evitando deadlock) e as duas
+     * escritas recebem a mesma versão, ficando visíveis juntas para os snapshots.
+     * Se o destino estiver em modo quente, apenas a origem e uma célula do destino
+     * são travadas, permitindo que vários remetentes creditem o destino em paralelo.
+     * @param valor Quantia a transferir.
+     * @param contaDestino Conta que receberá o crédito.
+     * @return OK, AUTO_TRANSFERENCIA, VALOR_INVALIDO ou a recusa do saque na origem.
+     */
+    public ResultadoOperacao tentarTransferir(double valor, ContaBancaria contaDestino){
+        return tentarTransferir(valor, contaDestino, null);
+    }
+
+    /**
+     * Transferência com ID de transação definido por quem chama. Permite que um
+     * executor com journal (ex.: PIX agendado) reconheça no histórico da origem,
+     * após um reinício, uma transferência que já foi efetivada.
+     * @param idTransacao ID registrado na transação (deve ser único); com null, um UUID é
+     *                    gerado só depois das validações, sem alocar nas recusas.
+     * @see #tentarTransferir(double, ContaBancaria)
+     */
+    public ResultadoOperacao tentarTransferir(double valor, ContaBancaria contaDestino, String idTransacao){
 
         if(this.equals(contaDestino)){
-            throw new IllegalArgumentException("Uma conta não pode transferir valores para si mesma.");
+            return ResultadoOperacao.AUTO_TRANSFERENCIA;
         }
 
         if(valor <= 0){
-            throw new IllegalArgumentException("O valor deve ser maior que zero.");
+            return ResultadoOperacao.VALOR_INVALIDO;
         }
 
-        this.sacar(valor);
-        contaDestino.depositar(valor);
+        if(contaDestino.modoQuente){
+            ResultadoOperacao resultado = transferirParaCelula(valor, contaDestino, idTransacao);
+            if(resultado != null){
+                return resultado;
+            }
+        }
 
-        // extrato na conta origem
-        Transacao trans = new Transacao(
-                UUID.randomUUID().toString(),
-                this.getNumero(), // numero da contaOrigem
-                contaDestino.getNumero(), // numero da contaDestino
-                valor,
-                TipoTransacao.PIX,
-                LocalDateTime.now()
-        );
-        this.transacoes.add(trans);
-        contaDestino.getTransacoes().add(trans);
+        ContaBancaria primeira = this.ordemTrava < contaDestino.ordemTrava ? this : contaDestino;
+        ContaBancaria segunda = primeira == this ? contaDestino : this;
+        primeira.trava.lock();
+        segunda.trava.lock();
+        // células só depois de todas as travas principais: quem segura uma célula nunca espera outra trava
+        primeira.travarCelulas();
+        segunda.travarCelulas();
+        RelogioVersoes.Escopo escopo = RelogioVersoes.abrir();
+        try{
+            ResultadoOperacao debito = this.tentarSacar(valor);
+            if(debito != ResultadoOperacao.OK){
+                return debito;
+            }
+            contaDestino.tentarDepositar(valor);
+
+            // extrato na conta origem
+            Transacao trans = new Transacao(
+                    idOuNovo(idTransacao),
+                    this.getNumero(), // numero da contaOrigem
+                    contaDestino.getNumero(), // numero da contaDestino
+                    valor,
+                    TipoTransacao.PIX,
+                    LocalDateTime.now()
+            );
+            this.transacoes.add(trans);
+            contaDestino.transacoes.add(trans);
+            this.registrar(escopo, 0, trans);
+            contaDestino.registrar(escopo, 0, trans);
+        }
+        finally{
+            RelogioVersoes.fechar(escopo);
+            segunda.liberarCelulas();
+            primeira.liberarCelulas();
+            segunda.trava.unlock();
+            primeira.trava.unlock();
+        }
+        return ResultadoOperacao.OK;
+    }
+
+    private static String idOuNovo(String idTransacao){
+        return idTransacao != null ? idTransacao : UUID.randomUUID().toString();
+    }
+
+    /**
+     * Converte uma rejeição na exceção equivalente da API tradicional.
+     * @param mensagemValorInvalido Mensagem de VALOR_INVALIDO, que varia por operação.
+     */
+    private static RuntimeException excecao(ResultadoOperacao resultado, String mensagemValorInvalido){
+        return switch(resultado){
+            case SALDO_INSUFICIENTE -> new InsufficientFundsException("Saldo Insuficiente.");
+            case LIMITE_EXCEDIDO -> new InsufficientFundsException("Saldo e Limites excedidos!");
+            case AUTO_TRANSFERENCIA -> new IllegalArgumentException("Uma conta não pode transferir valores para si mesma.");
+            case VALOR_INVALIDO -> new IllegalArgumentException(mensagemValorInvalido);
+            case OK -> new IllegalStateException("Operação bem-sucedida não gera exceção.");
+        };
+    }
+
+    /**
+     * Caminho da transferência para um destino quente: trava a origem e a célula do
+     * destino associada à thread. Só é usado quando a origem não está em modo quente
+     * (o débito não precisa de células), o que mantém a ordem de travas sem ciclos.
+     * @return O resultado da transferência, ou null se ela deve seguir pelo caminho normal.
+     */
+    private ResultadoOperacao transferirParaCelula(double valor, ContaBancaria contaDestino, String idTransacao){
+        if(contaDestino.trava.isHeldByCurrentThread()){
+            return null;
+        }
+        trava.lock();
+        if(modoQuente){
+            trava.unlock();
+            return null;
+        }
+        AcumuladorCreditos.Celula celula = contaDestino.acumulador.celulaDaThread();
+        boolean cheia;
+        celula.travar();
+        try{
+            if(!contaDestino.modoQuente){
+                return null;
+            }
+            RelogioVersoes.Escopo escopo = RelogioVersoes.abrir();
+            try{
+                ResultadoOperacao debito = this.tentarSacar(valor);
+                if(debito != ResultadoOperacao.OK){
+                    return debito;
+                }
+                contaDestino.tentarDepositar(valor);
+
+                Transacao trans = new Transacao(
+                        idOuNovo(idTransacao),
+                        this.getNumero(),
+                        contaDestino.getNumero(),
+                        valor,
+                        TipoTransacao.PIX,
+                        LocalDateTime.now()
+                );
+                this.transacoes.add(trans);
+                celula.anexar(trans);
+                this.registrar(escopo, 0, trans);
+                contaDestino.registrar(escopo, 0, trans);
+            }
+            finally{
+                RelogioVersoes.fechar(escopo);
+            }
+            cheia = celula.quantidadePendente() >= LIMITE_PENDENTES_CELULA;
+        }
+        finally{
+            celula.liberar();
+            trava.unlock();
+        }
+        if(cheia){
+            contaDestino.consolidarSeLivre();
+        }
+        return ResultadoOperacao.OK;
     }
 
     /**
      * Data API: Filtra o histórico de transações com base em critérios dinâmicos.
+     * Segmentos frios fora do período informado não chegam a ser decodificados.
      * @param tipo Filtro por TipoTransacao (null para todos)
      * @param inicio Data inicial do intervalo (null para sem limite inferior)
      * @param fim Data final do intervalo (null para sem limite superior)
      * @return Lista de transações que atendem aos critérios.
      */
     public List<Transacao> buscarExtratoInteligente(TipoTransacao tipo, LocalDateTime inicio, LocalDateTime fim) {
-        return transacoes.stream()
-                .filter(t -> tipo == null || t.getTipo() == tipo)
-                .filter(t -> inicio == null || !t.getDataHora().isBefore(inicio))
-                .filter(t -> fim == null || !t.getDataHora().isAfter(fim))
-                .collect(Collectors.toList());
+        consolidarSeQuente();
+        trava.lock();
+        try{
+            return transacoes.buscar(tipo, inicio, fim);
+        }
+        finally{
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Anexa ao histórico uma transação já realizada em outro sistema (migração),
+     * sem alterar o saldo: o saldo migrado é informado na criação da conta.
+     * Deve ser chamado em ordem cronológica.
+     * @param trans Transação histórica, com o identificador do sistema de origem.
+     */
+    public void restaurarTransacao(Transacao trans){
+        travarEscrita();
+        RelogioVersoes.Escopo escopo = RelogioVersoes.abrir();
+        try{
+            consolidarPendentes(escopo.getVersao());
+            transacoes.add(trans);
+            registrar(escopo, 0, trans);
+        }
+        finally{
+            RelogioVersoes.fechar(escopo);
+            liberarEscrita();
+        }
+    }
+
+    // Replicação:
+
+    /**
+     * Passa a entregar ao ouvinte as escritas confirmadas desta conta.
+     * O estado atual (saldo e histórico) é entregue com a trava obtida, antes de
+     * qualquer escrita posterior; as alterações chegam ao fechar de cada operação,
+     * ainda com as travas obtidas, na ordem em que foram aplicadas.
+     * @param ouvinte Destino das escritas (null para desvincular).
+     */
+    public void vincularReplicacao(OuvinteCommits ouvinte){
+        travarEscrita();
+        RelogioVersoes.Escopo escopo = RelogioVersoes.abrir();
+        try{
+            consolidarPendentes(escopo.getVersao());
+            this.ouvinte = ouvinte;
+            if(ouvinte != null){
+                ouvinte.aoVincular(this, saldo.atual(), List.copyOf(transacoes));
+            }
+        }
+        finally{
+            RelogioVersoes.fechar(escopo);
+            liberarEscrita();
+        }
+    }
+
+    /**
+     * Aplica alterações recebidas de outra instância (standby): as contas envolvidas
+     * são travadas em ordem global e todas as alterações ganham a mesma versão,
+     * como a operação original. Contas vinculadas repassam as alterações adiante.
+     * @param alteracoes Alterações de uma operação confirmada, em ordem.
+     */
+    public static void aplicarReplicadas(List<AlteracaoConta> alteracoes){
+        List<ContaBancaria> contas = new ArrayList<>(2);
+        for (AlteracaoConta alteracao : alteracoes) {
+            if(!contas.contains(alteracao.conta())){
+                contas.add(alteracao.conta());
+            }
+        }
+        contas.sort(Comparator.comparingLong(c -> c.ordemTrava));
+        contas.forEach(c -> c.trava.lock());
+        contas.forEach(ContaBancaria::travarCelulas);
+        RelogioVersoes.Escopo escopo = RelogioVersoes.abrir();
+        try{
+            for (ContaBancaria conta : contas) {
+                conta.consolidarPendentes(escopo.getVersao());
+            }
+            for (AlteracaoConta alteracao : alteracoes) {
+                ContaBancaria conta = alteracao.conta();
+                if(alteracao.delta() != 0){
+                    conta.saldo.gravar(escopo.getVersao(), conta.saldo.atual() + alteracao.delta());
+                }
+                if(alteracao.transacao() != null){
+                    conta.transacoes.add(alteracao.transacao());
+                }
+                conta.registrar(escopo, alteracao.delta(), alteracao.transacao());
+            }
+        }
+        finally{
+            RelogioVersoes.fechar(escopo);
+            for (int i = contas.size() - 1; i >= 0; i--) {
+                contas.get(i).liberarCelulas();
+            }
+            for (int i = contas.size() - 1; i >= 0; i--) {
+                contas.get(i).trava.unlock();
+            }
+        }
+    }
+
+    /** Anota a alteração no escopo atual, se a conta estiver vinculada a um ouvinte. */
+    private void registrar(RelogioVersoes.Escopo escopo, double delta, Transacao trans){
+        OuvinteCommits destino = ouvinte;
+        if(destino != null){
+            escopo.registrar(destino, new AlteracaoConta(this, delta, trans));
+        }
+    }
+
+    // Modo quente (créditos listrados):
+
+    /**
+     * Ativa o modo quente com duas células por processador disponível.
+     * @see #ativarModoQuente(int)
+     */
+    public void ativarModoQuente(){
+        ativarModoQuente(2 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Ativa o modo quente: depósitos e transferências recebidas passam a creditar
+     * células listradas por thread, consolidadas no saldo base antes de débitos,
+     * de leituras do histórico ou quando uma célula acumula muitas transações.
+     * A quantidade de células é fixada na primeira ativação.
+     * @param celulas Número de células (arredondado para potência de 2).
+     * @throws IllegalStateException Se chamado com a trava de escrita da conta já obtida.
+     */
+    public void ativarModoQuente(int celulas){
+        if(celulas <= 0){
+            throw new IllegalArgumentException("A quantidade de células deve ser positiva.");
+        }
+        trava.lock();
+        try{
+            verificarTravaNaoAninhada();
+            if(acumulador == null){
+                acumulador = new AcumuladorCreditos(celulas);
+            }
+            modoQuente = true;
+        }
+        finally{
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Consolida os créditos pendentes e volta ao modo normal.
+     * @throws IllegalStateException Se chamado com a trava de escrita da conta já obtida.
+     */
+    public void desativarModoQuente(){
+        trava.lock();
+        try{
+            verificarTravaNaoAninhada();
+            if(!modoQuente){
+                return;
+            }
+            AcumuladorCreditos acc = acumulador;
+            acc.travarTodas();
+            RelogioVersoes.Escopo escopo = RelogioVersoes.abrir();
+            try{
+                consolidarPendentes(escopo.getVersao());
+                modoQuente = false;
+            }
+            finally{
+                RelogioVersoes.fechar(escopo);
+                acc.liberarTodas();
+            }
+        }
+        finally{
+            trava.unlock();
+        }
+    }
+
+    /** @return true se os créditos desta conta estão sendo listrados em células. */
+    public boolean isModoQuente(){
+        return modoQuente;
+    }
+
+    /** Incorpora ao saldo base e ao histórico os créditos pendentes nas células. */
+    public void consolidarCreditos(){
+        travarEscrita();
+        RelogioVersoes.Escopo escopo = RelogioVersoes.abrir();
+        try{
+            consolidarPendentes(escopo.getVersao());
+        }
+        finally{
+            RelogioVersoes.fechar(escopo);
+            liberarEscrita();
+        }
+    }
+
+    private boolean creditarEmCelula(double valor, Transacao trans){
+        AcumuladorCreditos.Celula celula = acumulador.celulaDaThread();
+        boolean cheia;
+        celula.travar();
+        try{
+            // o modo pode ter sido desativado antes de obtermos a célula
+            if(!modoQuente){
+                return false;
+            }
+            RelogioVersoes.Escopo escopo = RelogioVersoes.abrir();
+            try{
+                celula.creditar(escopo.getVersao(), valor, trans);
+                registrar(escopo, valor, trans);
+            }
+            finally{
+                RelogioVersoes.fechar(escopo);
+            }
+            cheia = celula.quantidadePendente() >= LIMITE_PENDENTES_CELULA;
+        }
+        finally{
+            celula.liberar();
+        }
+        // chamadas aninhadas (dentro de uma transferência) deixam a consolidação para o chamador
+        if(cheia && !celula.isTravadaPelaThread()){
+            consolidarSeLivre();
+        }
+        return true;
+    }
+
+    /**
+     * Antes de uma leitura do histórico: em modo quente, traz para o histórico os créditos
+     * que estão nas células (uma escrita). Fora dele a leitura usa só a trava principal,
+     * sem travar células nem reservar versão: todo anexo ao histórico acontece sob ela.
+     */
+    private void consolidarSeQuente(){
+        if(modoQuente){
+            consolidarCreditos();
+        }
+    }
+
+    /** Consolida sem esperar: se a trava principal estiver ocupada, a próxima escrita o fará. */
+    private void consolidarSeLivre(){
+        if(!trava.tryLock()){
+            return;
+        }
+        try{
+            travarCelulas();
+            RelogioVersoes.Escopo escopo = RelogioVersoes.abrir();
+            try{
+                consolidarPendentes(escopo.getVersao());
+            }
+            finally{
+                RelogioVersoes.fechar(escopo);
+                liberarCelulas();
+            }
+        }
+        finally{
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Move subsaldos e sublogs das células para o saldo base e o histórico, na versão
+     * do escopo atual. Exige a trava principal e as de todas as células.
+     */
+    private void consolidarPendentes(long versao){
+        if(!modoQuente){
+            return;
+        }
+        List<Transacao> drenadas = new ArrayList<>();
+        consolidacoes++;
+        try{
+            double total = acumulador.drenar(versao, drenadas);
+            if(total != 0){
+                saldo.gravar(versao, saldo.atual() + total);
+            }
+        }
+        finally{
+            consolidacoes++;
+        }
+        transacoes.addAll(drenadas);
+    }
+
+    private void verificarTravaNaoAninhada(){
+        if(trava.getHoldCount() > 1){
+            throw new IllegalStateException("O modo quente não pode ser alterado durante uma operação na conta.");
+        }
+    }
+
+    private void travarCelulas(){
+        if(modoQuente){
+            acumulador.travarTodas();
+        }
+    }
+
+    private void liberarCelulas(){
+        if(modoQuente){
+            acumulador.liberarTodas();
+        }
+    }
+
+    // Trava de escrita para subclasses:
+
+    /**
+     * Adquire a trava de escrita (reentrante) da conta.
+     * Subclasses a usam para que validações próprias e o débito aconteçam de forma atômica.
+     * Em modo quente também trava as células, congelando os créditos pendentes.
+     */
+    protected final void travarEscrita(){
+        trava.lock();
+        travarCelulas();
+    }
+
+    /** Libera a trava adquirida por {@link #travarEscrita()}. */
+    protected final void liberarEscrita(){
+        liberarCelulas();
+        trava.unlock();
     }
 
 }
@@ -1,7 +1,7 @@
 package com.ledgerflow.model;
 
+import com.ledgerflow.enums.ResultadoOperacao;
 import com.ledgerflow.enums.TipoConta;
-import com.ledgerflow.exceptions.InsufficientFundsException;
 
 public class ContaCorrente extends ContaBancaria {
 
@@ -12,10 +12,16 @@ public class ContaCorrente extends ContaBancaria {
     private double limiteChequeEspecial;
 
     @Override
-    public void sacar(double valor){
-        if(valor > (getSaldo() + this.limiteChequeEspecial)){
-            throw new InsufficientFundsException("Saldo e Limites excedidos!");
+    public ResultadoOperacao tentarSacar(double valor){
+        travarEscrita();
+        try{
+            if(valor > (getSaldo() + this.limiteChequeEspecial)){
+                return ResultadoOperacao.LIMITE_EXCEDIDO;
+            }
+            return super.tentarSacar(valor);
+        }
+        finally{
+            liberarEscrita();
         }
-        super.sacar(valor);
     }
 }
@@ -10,9 +10,15 @@ public class ContaPoupanca extends ContaBancaria{
 
     public void aplicarRendimento(double taxa){
         if(taxa > 0){
-            double saldoAtual = getSaldo();
-            double rendimento = saldoAtual * taxa;
-            depositar(rendimento);
+            travarEscrita();
+            try{
+                double saldoAtual = getSaldo();
+                double rendimento = saldoAtual * taxa;
+                depositar(rendimento);
+            }
+            finally{
+                liberarEscrita();
+            }
         }
         else{
             throw new IllegalArgumentException("Taxa deve ser maior que zero");
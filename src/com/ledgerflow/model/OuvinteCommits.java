@@ -0,0 +1,27 @@
+package com.ledgerflow.model;
+
+import java.util.List;
+
+/**
+ * Recebe as escritas confirmadas das contas vinculadas (ver {@link ContaBancaria#vincularReplicacao}).
+ * As chamadas acontecem enquanto as travas das contas envolvidas ainda estão obtidas:
+ * para cada conta, a ordem de entrega é a ordem em que as escritas foram aplicadas,
+ * e o estado inicial entregue na vinculação precede todas as alterações posteriores.
+ * Implementações devem ser rápidas e não lançar exceções (tipicamente, enfileirar).
+ */
+public interface OuvinteCommits {
+
+    /**
+     * Estado da conta no momento da vinculação.
+     * @param conta Conta vinculada.
+     * @param saldo Saldo exato (créditos listrados já consolidados).
+     * @param historico Cópia do histórico completo.
+     */
+    void aoVincular(ContaBancaria conta, double saldo, List<Transacao> historico);
+
+    /**
+     * Alterações de uma operação confirmada, todas na mesma versão (aplicar juntas).
+     * @param alteracoes Lista imutável, uma entrada por conta e registro.
+     */
+    void aoConfirmar(List<AlteracaoConta> alteracoes);
+}
@@ -0,0 +1,156 @@
+package com.ledgerflow.model;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Relógio global de versões (MVCC) compartilhado por todas as contas.
+ * Cada operação de escrita reserva uma versão enquanto segura as travas das contas
+ * envolvidas. Antes de reservar, a thread anuncia um limite inferior da versão que
+ * vai obter; a versão publicada (corte consistente) é o menor anúncio em andamento,
+ * de modo que toda escrita com versão menor ou igual já terminou e nenhuma escrita
+ * precisa esperar por outra para se tornar visível.
+ * Os anúncios ficam num vetor fixo de posições: a thread ocupa uma posição livre só
+ * enquanto o escopo mais externo está aberto, então threads encerradas não deixam
+ * rastro e a varredura dos snapshots tem custo constante.
+ * Leituras multi-conta se registram para que as versões antigas de que precisam
+ * não sejam descartadas pelas escritas concorrentes.
+ * O escopo também acumula as alterações das contas vinculadas a um {@link OuvinteCommits},
+ * entregues juntas ao fechar o escopo mais externo (ainda com as travas obtidas).
+ */
+final class RelogioVersoes {
+
+    private static final long LIVRE = Long.MAX_VALUE;
+
+    // posições de anúncio espaçadas por 8 longs (64 bytes) para não dividirem linha de cache
+    private static final int ESPACAMENTO = 8;
+    private static final int POSICOES = Math.max(64, Integer.highestOneBit(4 * Runtime.getRuntime().availableProcessors() - 1) << 1);
+
+    private static final AtomicLong reservada = new AtomicLong();
+    private static final AtomicLongArray anuncios = posicoesLivres();
+    private static final ThreadLocal<Escopo> ESCOPO = ThreadLocal.withInitial(Escopo::new);
+
+    // leituras ativas por versão; o menor valor limita a poda das cadeias de versões
+    private static final TreeMap<Long, Integer> leiturasAtivas = new TreeMap<>();
+    private static volatile long menorLeituraAtiva = Long.MAX_VALUE;
+
+    /** Escopo de escrita da thread; operações aninhadas (ex.: sacar dentro de transferir) compartilham a versão. */
+    static final class Escopo {
+        private final int posicaoPreferida = (int) (Thread.currentThread().getId() & (POSICOES - 1));
+        private int posicao;
+        private int profundidade;
+        private long versao;
+        private final List<AlteracaoConta> alteracoes = new ArrayList<>();
+        private final List<OuvinteCommits> destinos = new ArrayList<>();
+
+        long getVersao(){
+            return versao;
+        }
+
+        void registrar(OuvinteCommits ouvinte, AlteracaoConta alteracao){
+            alteracoes.add(alteracao);
+            destinos.add(ouvinte);
+        }
+    }
+
+    private RelogioVersoes(){
+    }
+
+    /** Abre (ou reentra) o escopo de escrita; deve ser chamado com as travas das contas já obtidas. */
+    static Escopo abrir(){
+        Escopo escopo = ESCOPO.get();
+        if(escopo.profundidade++ == 0){
+            // o anúncio precede a reserva: quem ler o anúncio nunca enxerga esta versão
+            escopo.posicao = anunciar(escopo.posicaoPreferida, reservada.get());
+            escopo.versao = reservada.incrementAndGet();
+        }
+        return escopo;
+    }
+
+    /**
+     * Ocupa uma posição livre com o anúncio. Se todas estiverem ocupadas, espera:
+     * quem ocupa uma posição já tem todas as travas de que precisa e a libera ao fechar.
+     */
+    private static int anunciar(int preferida, long anuncio){
+        while(true){
+            for (int i = 0; i < POSICOES; i++) {
+                int posicao = (preferida + i) & (POSICOES - 1);
+                if(anuncios.get(posicao * ESPACAMENTO) == LIVRE
+                        && anuncios.compareAndSet(posicao * ESPACAMENTO, LIVRE, anuncio)){
+                    return posicao;
+                }
+            }
+            Thread.yield();
+        }
+    }
+
+    private static AtomicLongArray posicoesLivres(){
+        AtomicLongArray posicoes = new AtomicLongArray(POSICOES * ESPACAMENTO);
+        for (int i = 0; i < POSICOES; i++) {
+            posicoes.set(i * ESPACAMENTO, LIVRE);
+        }
+        return posicoes;
+    }
+
+    /** Fecha o escopo; ao sair do mais externo, a versão passa a ser visível. */
+    static void fechar(Escopo escopo){
+        if(--escopo.profundidade == 0){
+            anuncios.set(escopo.posicao * ESPACAMENTO, LIVRE);
+            if(!escopo.alteracoes.isEmpty()){
+                entregar(escopo);
+            }
+        }
+    }
+
+    private static void entregar(Escopo escopo){
+        try{
+            OuvinteCommits primeiro = escopo.destinos.get(0);
+            if(escopo.destinos.stream().allMatch(o -> o == primeiro)){
+                primeiro.aoConfirmar(List.copyOf(escopo.alteracoes));
+                return;
+            }
+            // contas de ouvintes diferentes na mesma operação: cada um recebe só as suas
+            Map<OuvinteCommits, List<AlteracaoConta>> porOuvinte = new IdentityHashMap<>();
+            for (int i = 0; i < escopo.alteracoes.size(); i++) {
+                porOuvinte.computeIfAbsent(escopo.destinos.get(i), o -> new ArrayList<>()).add(escopo.alteracoes.get(i));
+            }
+            porOuvinte.forEach((ouvinte, alteracoes) -> ouvinte.aoConfirmar(List.copyOf(alteracoes)));
+        }
+        finally{
+            escopo.alteracoes.clear();
+            escopo.destinos.clear();
+        }
+    }
+
+    /** @return Maior versão cujas escritas (e todas as anteriores) já terminaram. */
+    static long versaoPublicada(){
+        long limite = reservada.get();
+        for (int i = 0; i < POSICOES; i++) {
+            limite = Math.min(limite, anuncios.get(i * ESPACAMENTO));
+        }
+        return limite;
+    }
+
+    /** Registra uma leitura na versão publicada atual e a retorna. */
+    static synchronized long registrarLeitura(){
+        long versao = versaoPublicada();
+        leiturasAtivas.merge(versao, 1, Integer::sum);
+        menorLeituraAtiva = leiturasAtivas.firstKey();
+        return versao;
+    }
+
+    static synchronized void liberarLeitura(long versao){
+        leiturasAtivas.computeIfPresent(versao, (v, n) -> n == 1 ? null : n - 1);
+        menorLeituraAtiva = leiturasAtivas.isEmpty() ? Long.MAX_VALUE : leiturasAtivas.firstKey();
+    }
+
+    /** @return Menor versão ainda necessária a alguma leitura ativa (MAX_VALUE se nenhuma). */
+    static long menorLeituraAtiva(){
+        return menorLeituraAtiva;
+    }
+}
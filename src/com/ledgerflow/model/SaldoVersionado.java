@@ -0,0 +1,67 @@
+package com.ledgerflow.model;
+
+/**
+ * Saldo de uma conta com as versões recentes encadeadas (da mais nova para a mais antiga).
+ * Escritas acontecem sob a trava da conta; leituras nunca travam: a mais recente lê
+ * a cabeça da cadeia e leituras em uma versão antiga percorrem a cadeia.
+ * A cadeia é podada em O(1) a cada escrita, mantendo apenas o que as leituras
+ * ativas ainda podem pedir.
+ */
+final class SaldoVersionado {
+
+    private static final class Versao {
+        private final long versao;
+        private final double valor;
+        private volatile Versao anterior;
+
+        private Versao(long versao, double valor, Versao anterior){
+            this.versao = versao;
+            this.valor = valor;
+            this.anterior = anterior;
+        }
+    }
+
+    private volatile Versao atual;
+
+    SaldoVersionado(double valorInicial){
+        this.atual = new Versao(0, valorInicial, null);
+    }
+
+    /** @return O valor mais recente gravado. */
+    double atual(){
+        return atual.valor;
+    }
+
+    /**
+     * Grava um novo valor; deve ser chamado com a trava da conta.
+     * Duas gravações na mesma versão (mesmo escopo) substituem a anterior.
+     */
+    void gravar(long versao, double valor){
+        Versao cabeca = atual;
+        Versao nova = new Versao(versao, valor, cabeca.versao == versao ? cabeca.anterior : cabeca);
+        atual = nova;
+
+        long menor = RelogioVersoes.menorLeituraAtiva();
+        if(nova.versao <= menor){
+            nova.anterior = null;
+        } else {
+            Versao anterior = nova.anterior;
+            if(anterior != null && anterior.versao <= menor){
+                anterior.anterior = null;
+            }
+        }
+    }
+
+    /**
+     * @param versao Versão de leitura (corte publicado).
+     * @return O valor vigente naquela versão, ou NaN se ela já foi podada.
+     */
+    double naVersao(long versao){
+        for (Versao v = atual; v != null; v = v.anterior) {
+            if(v.versao <= versao){
+                return v.valor;
+            }
+        }
+        return Double.NaN;
+    }
+}
@@ -0,0 +1,99 @@
+package com.ledgerflow.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Fotografia consistente dos saldos de várias contas em uma mesma versão do
+ * relógio global: nenhuma transferência aparece "pela metade" (debitada na origem
+ * sem o crédito no destino). A captura não usa as travas das contas, portanto
+ * não bloqueia nem é bloqueada por depósitos, saques e transferências.
+ */
+public final class SnapshotSaldos {
+
+    private final long versao;
+    private final Map<ContaBancaria, Double> saldos;
+
+    private SnapshotSaldos(long versao, Map<ContaBancaria, Double> saldos){
+        this.versao = versao;
+        this.saldos = saldos;
+    }
+
+    /**
+     * Captura os saldos das contas informadas na última versão publicada.
+     * Se alguma escrita concorrente descartar uma versão necessária antes do
+     * registro da leitura, a captura é refeita em uma versão mais nova.
+     * @param contas Contas a fotografar.
+     * @return O snapshot consistente.
+     */
+    public static SnapshotSaldos capturar(Collection<? extends ContaBancaria> contas){
+        List<ContaBancaria> lista = new ArrayList<>(contas);
+        while(true){
+            long versao = RelogioVersoes.registrarLeitura();
+            try{
+                Map<ContaBancaria, Double> saldos = new IdentityHashMap<>(lista.size() * 2);
+                boolean completo = true;
+                for (ContaBancaria conta : lista) {
+                    double valor = conta.getSaldoNaVersao(versao);
+                    if(Double.isNaN(valor)){
+                        completo = false;
+                        break;
+                    }
+                    saldos.put(conta, valor);
+                }
+                if(completo){
+                    return new SnapshotSaldos(versao, saldos);
+                }
+            }
+            finally{
+                RelogioVersoes.liberarLeitura(versao);
+            }
+        }
+    }
+
+    /** @return Versão do relógio global em que o snapshot foi tirado. */
+    public long getVersao(){
+        return versao;
+    }
+
+    /**
+     * @return O saldo da conta no snapshot.
+     * @throws IllegalArgumentException Se a conta não fizer parte do snapshot.
+     */
+    public double getSaldo(ContaBancaria conta){
+        Double valor = saldos.get(conta);
+        if(valor == null){
+            throw new IllegalArgumentException("Conta fora do snapshot: " + conta.getNumero());
+        }
+        return valor;
+    }
+
+    /** @return Soma de todos os saldos fotografados. */
+    public double getTotal(){
+        double total = 0;
+        for (double valor : saldos.values()) {
+            total += valor;
+        }
+        return total;
+    }
+
+    /** @return Total de depósitos mantidos por agência, ordenado pelo código da agência. */
+    public Map<String, Double> totalPorAgencia(){
+        Map<String, Double> totais = new TreeMap<>();
+        saldos.forEach((conta, valor) -> totais.merge(conta.getAgencia(), valor, Double::sum));
+        return Collections.unmodifiableMap(totais);
+    }
+
+    /** @return Saldo consolidado por CPF do titular (visão do cliente sobre todas as suas contas). */
+    public Map<String, Double> totalPorTitular(){
+        Map<String, Double> totais = new HashMap<>();
+        saldos.forEach((conta, valor) -> totais.merge(conta.getCpfTitular(), valor, Double::sum));
+        return Collections.unmodifiableMap(totais);
+    }
+}
@@ -0,0 +1,65 @@
+package com.ledgerflow.replicacao;
+
+import com.ledgerflow.enums.TipoTransacao;
+import com.ledgerflow.model.Transacao;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Formato binário do fluxo de replicação (primário → standby):
+ * <ul>
+ *   <li>{@code 'C'} conta: cpf, número, agência, tipo, saldo, cliente (opcional), chaves PIX (chave e tipo) e histórico;</li>
+ *   <li>{@code 'T'} commit: n × (número da conta, delta do saldo, transação opcional), aplicados juntos;</li>
+ *   <li>{@code 'L'} fim de lote: LSN do último registro; o standby responde com o mesmo LSN (long)
+ *       depois de aplicar o lote.</li>
+ * </ul>
+ */
+final class FormatoReplicacao {
+
+    static final byte CONTA = 'C';
+    static final byte COMMIT = 'T';
+    static final byte FIM_LOTE = 'L';
+
+    private static final TipoTransacao[] TIPOS = TipoTransacao.values();
+
+    private FormatoReplicacao(){
+    }
+
+    static void escreverTexto(DataOutputStream out, String valor) throws IOException{
+        out.writeBoolean(valor != null);
+        if(valor != null){
+            out.writeUTF(valor);
+        }
+    }
+
+    static String lerTexto(DataInputStream in) throws IOException{
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    static void escreverTransacao(DataOutputStream out, Transacao t) throws IOException{
+        out.writeUTF(t.getId());
+        escreverTexto(out, t.getNumeroContaOrigem());
+        escreverTexto(out, t.getNumeroContaDestino());
+        out.writeDouble(t.getValor());
+        out.writeByte(t.getTipo().ordinal());
+        out.writeLong(t.getDataHora().toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(t.getDataHora().getNano());
+    }
+
+    static Transacao lerTransacao(DataInputStream in) throws IOException{
+        String id = in.readUTF();
+        String origem = lerTexto(in);
+        String destino = lerTexto(in);
+        double valor = in.readDouble();
+        int tipo = in.readUnsignedByte();
+        if(tipo >= TIPOS.length){
+            throw new IOException("Tipo de transação desconhecido no fluxo: " + tipo);
+        }
+        LocalDateTime dataHora = LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+        return new Transacao(id, origem, destino, valor, TIPOS[tipo], dataHora);
+    }
+}
@@ -0,0 +1,475 @@
+package com.ledgerflow.replicacao;
+
+import com.ledgerflow.carga.HistogramaLatencia;
+import com.ledgerflow.model.AlteracaoConta;
+import com.ledgerflow.model.Cliente;
+import com.ledgerflow.model.ContaBancaria;
+import com.ledgerflow.model.OuvinteCommits;
+import com.ledgerflow.model.Transacao;
+import com.ledgerflow.repositorio.RepositorioContas;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Lado primário da replicação para um {@link ServidorStandby}, por envio do journal
+ * de escritas confirmadas. As contas são vinculadas com {@link ContaBancaria#vincularReplicacao}:
+ * cada commit entra numa fila limitada ainda sob as travas das contas (o que preserva a
+ * ordem por conta) e recebe um LSN sequencial. Uma thread envia a fila em lotes pela
+ * conexão TCP, com até {@value #LOTES_EM_VOO} lotes aguardando confirmação; outra lê as
+ * confirmações do standby e mede o atraso de replicação.
+ * A replicação é assíncrona: o commit não espera o standby, então, se o primário cair,
+ * os commits ainda não confirmados ({@link #getLsnConfirmado()}) se perdem na promoção.
+ * Com a fila cheia os escritores esperam, o que limita esse atraso, mas só até um prazo:
+ * um standby que para de confirmar não pode congelar o primário. Se o prazo vencer ou a
+ * conexão falhar, a replicação é interrompida ({@link #getFalha()}), a conexão é fechada,
+ * as contas são desvinculadas e o primário segue sem replicação.
+ * Contas cadastradas depois da criação devem ser incluídas com {@link #replicarConta}.
+ */
+public final class ReplicadorPrimario implements OuvinteCommits, AutoCloseable {
+
+    public static final int CAPACIDADE_PADRAO = 8_192;
+    private static final int LOTE_MAXIMO = 1_024;
+    private static final int LOTES_EM_VOO = 4;
+    public static final Duration PRAZO_FILA_CHEIA_PADRAO = Duration.ofSeconds(5);
+    private static final Duration ESPERA_FECHAMENTO = Duration.ofSeconds(10);
+
+    /** Registro da fila: estado inicial de uma conta (alteracoes == null) ou um commit. */
+    private record Registro(long lsn, long enfileiradoEm, ContaBancaria conta, double saldo, List<Transacao> historico,
+                            List<String> chaves, List<AlteracaoConta> alteracoes) {
+    }
+
+    private record LoteEmVoo(long ultimoLsn, long enfileiradoEm) {
+    }
+
+    private final RepositorioContas repositorio;
+    private final int capacidade;
+    private final long prazoFilaCheiaNanos;
+    private final Socket socket;
+    private final DataOutputStream saida;
+    private final DataInputStream entrada;
+    private final Set<ContaBancaria> vinculadas = ConcurrentHashMap.newKeySet();
+    // chaves PIX de cada conta em vinculação, lidas pelo aoVincular
+    private final Map<ContaBancaria, List<String>> chavesPendentes = new ConcurrentHashMap<>();
+
+    private final ReentrantLock trava = new ReentrantLock();
+    private final Condition naoVazia = trava.newCondition();
+    private final Condition naoCheia = trava.newCondition();
+    private final Condition confirmacao = trava.newCondition();
+    private final ArrayDeque<Registro> fila = new ArrayDeque<>();
+    private final ArrayDeque<LoteEmVoo> emVoo = new ArrayDeque<>();
+    private final HistogramaLatencia atrasos = new HistogramaLatencia();
+    private long ultimoLsn;
+    private long lsnEnviado;
+    private long lsnConfirmado;
+    private long descartados;
+    private boolean fechado;
+    private IOException falha;
+
+    private final Thread remetente;
+    private final Thread leitorConfirmacoes;
+
+    /**
+     * Conecta ao standby e vincula todas as contas do repositório.
+     * @param repositorio Contas a replicar (clientes e chaves PIX vão junto).
+     * @param host Endereço do {@link ServidorStandby}.
+     * @param porta Porta do standby.
+     */
+    public ReplicadorPrimario(RepositorioContas repositorio, String host, int porta) throws IOException{
+        this(repositorio, host, porta, CAPACIDADE_PADRAO, PRAZO_FILA_CHEIA_PADRAO);
+    }
+
+    /**
+     * @param capacidade Máximo de registros na fila antes de os escritores esperarem.
+     * @param prazoFilaCheia Espera máxima de um escritor pela fila; vencida, a replicação é interrompida.
+     */
+    public ReplicadorPrimario(RepositorioContas repositorio, String host, int porta, int capacidade,
+                              Duration prazoFilaCheia) throws IOException{
+        if(capacidade <= 0){
+            throw new IllegalArgumentException("A capacidade da fila deve ser positiva.");
+        }
+        this.repositorio = repositorio;
+        this.capacidade = capacidade;
+        this.prazoFilaCheiaNanos = prazoFilaCheia.toNanos();
+        this.socket = new Socket(host, porta);
+        socket.setTcpNoDelay(true);
+        this.saida = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 1 << 16));
+        this.entrada = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+
+        remetente = new Thread(this::enviar, "replicacao-envio");
+        leitorConfirmacoes = new Thread(this::lerConfirmacoes, "replicacao-confirmacoes");
+        remetente.setDaemon(true);
+        leitorConfirmacoes.setDaemon(true);
+        remetente.start();
+        leitorConfirmacoes.start();
+
+        Map<ContaBancaria, List<String>> chaves = new HashMap<>();
+        repositorio.getContasPorChavePix().forEach((chave, conta) -> chaves.computeIfAbsent(conta, c -> new ArrayList<>()).add(chave));
+        for (ContaBancaria conta : repositorio.getContas()) {
+            vincular(conta, chaves.getOrDefault(conta, List.of()));
+        }
+    }
+
+    /**
+     * Inclui na replicação uma conta cadastrada depois da criação do replicador
+     * (com as chaves PIX já registradas). Contas já replicadas são ignoradas.
+     */
+    public void replicarConta(ContaBancaria conta){
+        List<String> chaves = new ArrayList<>();
+        repositorio.getContasPorChavePix().forEach((chave, dona) -> {
+            if(dona == conta){
+                chaves.add(chave);
+            }
+        });
+        vincular(conta, chaves);
+    }
+
+    private void vincular(ContaBancaria conta, List<String> chaves){
+        if(!vinculadas.add(conta)){
+            return;
+        }
+        chavesPendentes.put(conta, chaves);
+        conta.vincularReplicacao(this);
+    }
+
+    @Override
+    public void aoVincular(ContaBancaria conta, double saldo, List<Transacao> historico){
+        List<String> chaves = chavesPendentes.remove(conta);
+        enfileirar(conta, saldo, historico, chaves == null ? List.of() : chaves, null);
+    }
+
+    @Override
+    public void aoConfirmar(List<AlteracaoConta> alteracoes){
+        enfileirar(null, 0, null, null, alteracoes);
+    }
+
+    // chamado sob as travas das contas: a ordem da fila respeita a ordem dos commits por conta
+    private void enfileirar(ContaBancaria conta, double saldo, List<Transacao> historico, List<String> chaves,
+                            List<AlteracaoConta> alteracoes){
+        boolean prazoVencido = false;
+        boolean interrompida = false;
+        trava.lock();
+        try{
+            long restante = prazoFilaCheiaNanos;
+            while(fila.size() >= capacidade && !fechado && falha == null){
+                if(restante <= 0){
+                    prazoVencido = true;
+                    break;
+                }
+                try{
+                    restante = naoCheia.awaitNanos(restante);
+                }
+                catch(InterruptedException e){
+                    // o commit já foi aplicado: a entrega continua e a interrupção é devolvida no fim
+                    interrompida = true;
+                }
+            }
+            if(!prazoVencido && !fechado && falha == null){
+                fila.add(new Registro(++ultimoLsn, System.nanoTime(), conta, saldo, historico, chaves, alteracoes));
+                if(fila.size() == 1){
+                    naoVazia.signal();
+                }
+                return;
+            }
+            descartados++;
+        }
+        finally{
+            trava.unlock();
+            if(interrompida){
+                Thread.currentThread().interrupt();
+            }
+        }
+        if(prazoVencido){
+            registrarFalha(new IOException("Standby sem confirmar: fila de replicação cheia por mais de "
+                    + Duration.ofNanos(prazoFilaCheiaNanos).toMillis() + " ms."));
+        }
+    }
+
+    private void enviar(){
+        List<Registro> lote = new ArrayList<>(LOTE_MAXIMO);
+        try{
+            while(true){
+                trava.lock();
+                try{
+                    while(fila.isEmpty() && !fechado && falha == null){
+                        naoVazia.awaitUninterruptibly();
+                    }
+                    while(emVoo.size() >= LOTES_EM_VOO && falha == null && !fechado){
+                        confirmacao.awaitUninterruptibly();
+                    }
+                    if(falha != null || fila.isEmpty()){
+                        return;
+                    }
+                    while(!fila.isEmpty() && lote.size() < LOTE_MAXIMO){
+                        lote.add(fila.poll());
+                    }
+                    naoCheia.signalAll();
+                    emVoo.add(new LoteEmVoo(lote.get(lote.size() - 1).lsn(), lote.get(0).enfileiradoEm()));
+                }
+                finally{
+                    trava.unlock();
+                }
+
+                for (Registro registro : lote) {
+                    escrever(registro);
+                }
+                long ultimo = lote.get(lote.size() - 1).lsn();
+                saida.writeByte(FormatoReplicacao.FIM_LOTE);
+                saida.writeLong(ultimo);
+                saida.flush();
+                lote.clear();
+
+                trava.lock();
+                try{
+                    lsnEnviado = ultimo;
+                }
+                finally{
+                    trava.unlock();
+                }
+            }
+        }
+        catch(IOException e){
+            registrarFalha(e);
+        }
+    }
+
+    private void escrever(Registro registro) throws IOException{
+        if(registro.alteracoes() == null){
+            ContaBancaria conta = registro.conta();
+            saida.writeByte(FormatoReplicacao.CONTA);
+            saida.writeUTF(conta.getCpfTitular());
+            saida.writeUTF(conta.getNumero());
+            saida.writeUTF(conta.getAgencia());
+            saida.writeByte(conta.getTipoConta().ordinal());
+            saida.writeDouble(registro.saldo());
+            Cliente cliente = repositorio.buscarCliente(conta.getCpfTitular());
+            saida.writeBoolean(cliente != null);
+            if(cliente != null){
+                FormatoReplicacao.escreverTexto(saida, cliente.getNome());
+                FormatoReplicacao.escreverTexto(saida, cliente.getEmail());
+                FormatoReplicacao.escreverTexto(saida, cliente.getTelefone());
+            }
+            saida.writeInt(registro.chaves().size());
+            for (String chave : registro.chaves()) {
+                saida.writeUTF(chave);
+                saida.writeByte(repositorio.buscarTipoChavePix(chave).ordinal());
+            }
+            saida.writeInt(registro.historico().size());
+            for (Transacao t : registro.historico()) {
+                FormatoReplicacao.escreverTransacao(saida, t);
+            }
+            return;
+        }
+        saida.writeByte(FormatoReplicacao.COMMIT);
+        saida.writeInt(registro.alteracoes().size());
+        for (AlteracaoConta alteracao : registro.alteracoes()) {
+            saida.writeUTF(alteracao.conta().getNumero());
+            saida.writeDouble(alteracao.delta());
+            saida.writeBoolean(alteracao.transacao() != null);
+            if(alteracao.transacao() != null){
+                FormatoReplicacao.escreverTransacao(saida, alteracao.transacao());
+            }
+        }
+    }
+
+    private void lerConfirmacoes(){
+        try{
+            while(true){
+                long lsn = entrada.readLong();
+                long agora = System.nanoTime();
+                trava.lock();
+                try{
+                    // atraso de cada lote: do commit mais antigo até a confirmação do standby
+                    while(!emVoo.isEmpty() && emVoo.peek().ultimoLsn() <= lsn){
+                        atrasos.registrar(agora - emVoo.poll().enfileiradoEm());
+                    }
+                    lsnConfirmado = lsn;
+                    confirmacao.signalAll();
+                }
+                finally{
+                    trava.unlock();
+                }
+            }
+        }
+        catch(IOException e){
+            registrarFalha(e);
+        }
+    }
+
+    private void registrarFalha(IOException e){
+        boolean primeira;
+        trava.lock();
+        try{
+            primeira = falha == null && !fechado;
+            if(primeira){
+                falha = e;
+                descartados += fila.size();
+                fila.clear();
+            }
+            naoVazia.signalAll();
+            naoCheia.signalAll();
+            confirmacao.signalAll();
+        }
+        finally{
+            trava.unlock();
+        }
+        if(primeira){
+            // destrava envio e leitura presos na conexão
+            fecharConexao();
+            // quem detectou a falha pode estar com travas de contas: a desvinculação vai para outra thread
+            Thread desvinculacao = new Thread(this::desvincularContas, "replicacao-desvinculacao");
+            desvinculacao.setDaemon(true);
+            desvinculacao.start();
+        }
+    }
+
+    private void desvincularContas(){
+        for (ContaBancaria conta : vinculadas) {
+            conta.vincularReplicacao(null);
+        }
+    }
+
+    private void fecharConexao(){
+        try{
+            socket.close();
+        }
+        catch(IOException e){
+            // a conexão já está sendo abandonada
+        }
+    }
+
+    /**
+     * Espera o standby confirmar todos os commits enfileirados até agora.
+     * @return true se confirmados dentro do prazo; false por prazo ou falha da conexão.
+     */
+    public boolean aguardarConfirmacao(Duration prazo) throws InterruptedException{
+        long restante = prazo.toNanos();
+        trava.lock();
+        try{
+            long alvo = ultimoLsn;
+            while(lsnConfirmado < alvo && falha == null){
+                if(restante <= 0){
+                    return false;
+                }
+                restante = confirmacao.awaitNanos(restante);
+            }
+            return lsnConfirmado >= alvo;
+        }
+        finally{
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Desvincula as contas, envia o que resta na fila, espera as confirmações
+     * (até {@code 10s}; vencido o prazo, a replicação é dada como falha) e encerra a conexão.
+     */
+    @Override
+    public void close() throws IOException{
+        desvincularContas();
+        try{
+            if(!aguardarConfirmacao(ESPERA_FECHAMENTO)){
+                registrarFalha(new IOException("Standby não confirmou os últimos commits no fechamento."));
+            }
+            trava.lock();
+            try{
+                fechado = true;
+                naoVazia.signalAll();
+                naoCheia.signalAll();
+                confirmacao.signalAll();
+            }
+            finally{
+                trava.unlock();
+            }
+            remetente.join();
+            socket.close();
+            leitorConfirmacoes.join();
+        }
+        catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+            socket.close();
+        }
+    }
+
+    /** @return LSN do último registro enfileirado. */
+    public long getUltimoLsn(){
+        trava.lock();
+        try{
+            return ultimoLsn;
+        }
+        finally{
+            trava.unlock();
+        }
+    }
+
+    /** @return LSN do último registro já escrito na conexão. */
+    public long getLsnEnviado(){
+        trava.lock();
+        try{
+            return lsnEnviado;
+        }
+        finally{
+            trava.unlock();
+        }
+    }
+
+    /** @return LSN até o qual o standby confirmou a aplicação (sobrevive a uma promoção). */
+    public long getLsnConfirmado(){
+        trava.lock();
+        try{
+            return lsnConfirmado;
+        }
+        finally{
+            trava.unlock();
+        }
+    }
+
+    /** @return Registros descartados após falha da conexão ou fechamento. */
+    public long getDescartados(){
+        trava.lock();
+        try{
+            return descartados;
+        }
+        finally{
+            trava.unlock();
+        }
+    }
+
+    /** @return Erro que interrompeu a replicação, ou null. */
+    public IOException getFalha(){
+        trava.lock();
+        try{
+            return falha;
+        }
+        finally{
+            trava.unlock();
+        }
+    }
+
+    /** @return Cópia do histograma de atraso de replicação (nanos, um valor por lote). */
+    public HistogramaLatencia getAtrasos(){
+        HistogramaLatencia copia = new HistogramaLatencia();
+        trava.lock();
+        try{
+            copia.combinar(atrasos);
+        }
+        finally{
+            trava.unlock();
+        }
+        return copia;
+    }
+}
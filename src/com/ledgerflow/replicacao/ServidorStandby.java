@@ -0,0 +1,185 @@
+package com.ledgerflow.replicacao;
+
+import com.ledgerflow.enums.TipoChavePix;
+import com.ledgerflow.enums.TipoConta;
+import com.ledgerflow.model.AlteracaoConta;
+import com.ledgerflow.model.Cliente;
+import com.ledgerflow.model.ContaBancaria;
+import com.ledgerflow.model.ContaCorrente;
+import com.ledgerflow.model.ContaPoupanca;
+import com.ledgerflow.repositorio.RepositorioContas;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Standby quente: recebe o journal de um {@link ReplicadorPrimario} e o aplica num
+ * repositório próprio, confirmando cada lote depois de aplicado. Cada commit é aplicado
+ * com {@link ContaBancaria#aplicarReplicadas}, na mesma versão para todas as contas
+ * envolvidas, então saldos e snapshots lidos do standby são sempre consistentes
+ * (no máximo atrasados). Aceita um primário por vez.
+ * Após a queda do primário, {@link #promover()} encerra a recepção e entrega o
+ * repositório: contém exatamente os commits até {@link #getLsnAplicado()}.
+ */
+public final class ServidorStandby {
+
+    private static final TipoConta[] TIPOS_CONTA = TipoConta.values();
+    private static final TipoChavePix[] TIPOS_CHAVE = TipoChavePix.values();
+
+    private final ServerSocket servidor;
+    private final RepositorioContas repositorio = new RepositorioContas();
+    private final Thread receptor;
+    private volatile Socket conexao;
+    private volatile boolean promovido;
+    private volatile long lsnAplicado;
+    private volatile long commitsAplicados;
+    private volatile IOException falha;
+
+    /**
+     * Abre a porta e passa a aguardar o primário.
+     * @param porta Porta TCP (0 para uma porta livre, ver {@link #getPorta()}).
+     */
+    public ServidorStandby(int porta) throws IOException{
+        this.servidor = new ServerSocket(porta);
+        this.receptor = new Thread(this::receber, "standby-aplicacao");
+        receptor.setDaemon(true);
+        receptor.start();
+    }
+
+    private void receber(){
+        try (Socket socket = servidor.accept()) {
+            conexao = socket;
+            if(promovido){
+                return;
+            }
+            socket.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 1 << 16));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            while(true){
+                int tipo = in.read();
+                if(tipo < 0){
+                    return; // primário encerrou a conexão
+                }
+                switch(tipo){
+                    case FormatoReplicacao.CONTA -> lerConta(in);
+                    case FormatoReplicacao.COMMIT -> lerCommit(in);
+                    case FormatoReplicacao.FIM_LOTE -> {
+                        lsnAplicado = in.readLong();
+                        out.writeLong(lsnAplicado);
+                        out.flush();
+                    }
+                    default -> throw new IOException("Registro desconhecido no fluxo de replicação: " + tipo);
+                }
+            }
+        }
+        catch(IOException e){
+            if(!promovido){
+                falha = e;
+            }
+        }
+    }
+
+    private void lerConta(DataInputStream in) throws IOException{
+        String cpf = in.readUTF();
+        String numero = in.readUTF();
+        String agencia = in.readUTF();
+        int tipo = in.readUnsignedByte();
+        double saldo = in.readDouble();
+        Cliente cliente = null;
+        if(in.readBoolean()){
+            String nome = FormatoReplicacao.lerTexto(in);
+            String email = FormatoReplicacao.lerTexto(in);
+            String telefone = FormatoReplicacao.lerTexto(in);
+            cliente = new Cliente(nome, cpf, email, telefone);
+        }
+        if(tipo >= TIPOS_CONTA.length){
+            throw new IOException("Tipo de conta desconhecido no fluxo: " + tipo);
+        }
+        ContaBancaria conta = TIPOS_CONTA[tipo] == TipoConta.CORRENTE
+                ? new ContaCorrente(cpf, numero, agencia, saldo)
+                : new ContaPoupanca(cpf, numero, agencia, saldo);
+        Map<String, TipoChavePix> chaves = new LinkedHashMap<>();
+        for (int i = in.readInt(); i > 0; i--) {
+            String chave = in.readUTF();
+            int tipoChave = in.readUnsignedByte();
+            if(tipoChave >= TIPOS_CHAVE.length){
+                throw new IOException("Tipo de chave PIX desconhecido no fluxo: " + tipoChave);
+            }
+            chaves.put(chave, TIPOS_CHAVE[tipoChave]);
+        }
+        for (int i = in.readInt(); i > 0; i--) {
+            conta.restaurarTransacao(FormatoReplicacao.lerTransacao(in));
+        }
+        try{
+            repositorio.adicionar(cliente, conta);
+            chaves.forEach((chave, tipoChave) -> repositorio.registrarChavePix(chave, tipoChave, conta));
+        }
+        catch(IllegalArgumentException e){
+            throw new IOException("Conta replicada em duplicidade: " + numero, e);
+        }
+    }
+
+    private void lerCommit(DataInputStream in) throws IOException{
+        int quantidade = in.readInt();
+        List<AlteracaoConta> alteracoes = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            String numero = in.readUTF();
+            ContaBancaria conta = repositorio.buscarPorNumero(numero);
+            if(conta == null){
+                throw new IOException("Commit para conta não replicada: " + numero);
+            }
+            double delta = in.readDouble();
+            alteracoes.add(new AlteracaoConta(conta, delta, in.readBoolean() ? FormatoReplicacao.lerTransacao(in) : null));
+        }
+        ContaBancaria.aplicarReplicadas(alteracoes);
+        commitsAplicados++;
+    }
+
+    /**
+     * Encerra a recepção (descartando o que não foi aplicado) e entrega o repositório
+     * para assumir o papel de primário.
+     */
+    public RepositorioContas promover() throws IOException, InterruptedException{
+        promovido = true;
+        servidor.close();
+        Socket socket = conexao;
+        if(socket != null){
+            socket.close();
+        }
+        receptor.join();
+        return repositorio;
+    }
+
+    /** @return Repositório replicado; pode ser lido antes da promoção (réplica de leitura). */
+    public RepositorioContas getRepositorio(){
+        return repositorio;
+    }
+
+    public int getPorta(){
+        return servidor.getLocalPort();
+    }
+
+    /** @return LSN do último lote aplicado e confirmado ao primário. */
+    public long getLsnAplicado(){
+        return lsnAplicado;
+    }
+
+    /** @return Commits aplicados desde a conexão do primário. */
+    public long getCommitsAplicados(){
+        return commitsAplicados;
+    }
+
+    /** @return Erro que interrompeu a recepção, ou null. */
+    public IOException getFalha(){
+        return falha;
+    }
+}
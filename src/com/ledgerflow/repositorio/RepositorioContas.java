@@ -0,0 +1,96 @@
+package com.ledgerflow.repositorio;
+
+import com.ledgerflow.enums.TipoChavePix;
+import com.ledgerflow.model.Cliente;
+import com.ledgerflow.model.ContaBancaria;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Repositório em memória das contas do sistema.
+ * Mantém os índices usados pelas operações: por CPF (login), por número da conta
+ * (operações transacionais) e por chave PIX (busca do destino), todos com busca O(1).
+ * A ordem de cadastro é preservada (geração de carga e importação referenciam contas por posição).
+ */
+public class RepositorioContas {
+
+    private final List<ContaBancaria> contas = new ArrayList<>();
+    private final Map<String, Cliente> clientesPorCpf = new ConcurrentHashMap<>();
+    private final Map<String, ContaBancaria> contasPorCpf = new ConcurrentHashMap<>();
+    private final Map<String, ContaBancaria> contasPorNumero = new ConcurrentHashMap<>();
+    private final Map<String, ContaBancaria> contasPorChavePix = new ConcurrentHashMap<>();
+    private final Map<String, TipoChavePix> tiposChavePix = new ConcurrentHashMap<>();
+
+    /**
+     * Cadastra uma conta e, opcionalmente, o cliente titular.
+     * @param cliente Titular da conta (null se já cadastrado ou desconhecido).
+     * @param conta Conta a ser cadastrada.
+     * @throws IllegalArgumentException Se o número da conta já existir.
+     */
+    public synchronized void adicionar(Cliente cliente, ContaBancaria conta){
+        if(contasPorNumero.putIfAbsent(conta.getNumero(), conta) != null){
+            throw new IllegalArgumentException("Conta já cadastrada: " + conta.getNumero());
+        }
+        contas.add(conta);
+        contasPorCpf.putIfAbsent(conta.getCpfTitular(), conta);
+        if(cliente != null){
+            clientesPorCpf.putIfAbsent(cliente.getCpf(), cliente);
+        }
+    }
+
+    /**
+     * Vincula uma chave PIX a uma conta cadastrada.
+     * @throws IllegalArgumentException Se a chave já estiver em uso.
+     */
+    public synchronized void registrarChavePix(String chave, TipoChavePix tipo, ContaBancaria conta){
+        // o tipo entra antes da chave: quem encontra a chave no índice já encontra o tipo
+        tiposChavePix.putIfAbsent(chave, tipo);
+        if(contasPorChavePix.putIfAbsent(chave, conta) != null){
+            throw new IllegalArgumentException("Chave PIX (" + tipo + ") já cadastrada: " + chave);
+        }
+    }
+
+    public ContaBancaria buscarPorCpf(String cpf){
+        return contasPorCpf.get(cpf);
+    }
+
+    public ContaBancaria buscarPorNumero(String numero){
+        return contasPorNumero.get(numero);
+    }
+
+    public ContaBancaria buscarPorChavePix(String chave){
+        return contasPorChavePix.get(chave);
+    }
+
+    /** @return O tipo com que a chave PIX foi cadastrada, ou null se ela não existir. */
+    public TipoChavePix buscarTipoChavePix(String chave){
+        return contasPorChavePix.containsKey(chave) ? tiposChavePix.get(chave) : null;
+    }
+
+    public Cliente buscarCliente(String cpf){
+        return clientesPorCpf.get(cpf);
+    }
+
+    /** @return Visão somente leitura de todas as contas, em ordem de cadastro. */
+    public synchronized List<ContaBancaria> getContas(){
+        return Collections.unmodifiableList(new ArrayList<>(contas));
+    }
+
+    /** @return Índice de contas por número (somente leitura), no formato usado pelo agendador. */
+    public Map<String, ContaBancaria> getContasPorNumero(){
+        return Collections.unmodifiableMap(contasPorNumero);
+    }
+
+    /** @return Índice de contas por chave PIX (somente leitura), no formato usado pela BancoUI. */
+    public Map<String, ContaBancaria> getContasPorChavePix(){
+        return Collections.unmodifiableMap(contasPorChavePix);
+    }
+
+    public synchronized int tamanho(){
+        return contas.size();
+    }
+}
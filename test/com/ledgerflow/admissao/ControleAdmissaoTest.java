@@ -0,0 +1,169 @@
+package com.ledgerflow.admissao;
+
+import com.ledgerflow.enums.PrioridadeOperacao;
+import com.ledgerflow.enums.ResultadoOperacao;
+import com.ledgerflow.enums.TipoOperacao;
+import com.ledgerflow.exceptions.SobrecargaException;
+import com.ledgerflow.model.ContaBancaria;
+import com.ledgerflow.model.ContaCorrente;
+import com.ledgerflow.model.ContaPoupanca;
+import org.junit.jupiter.api.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Controle de Admissão de Operações")
+class ControleAdmissaoTest {
+
+    @Test
+    @DisplayName("Deve executar as operações nas partições e devolver os resultados da conta")
+    void deveExecutarOperacoes(){
+        ContaBancaria origem = new ContaCorrente("111", "A-1", "0001", 100.0);
+        ContaBancaria destino = new ContaPoupanca("222", "B-1", "0001", 0.0);
+        try (ControleAdmissao controle = new ControleAdmissao(4, 64, 1_000.0, new LimiteAdaptativo(1, 4, Duration.ofMillis(50)))) {
+            ResultadoOperacao pix = controle.transferir(origem, 30.0, destino).join();
+            ResultadoOperacao saque = controle.sacar(destino, 50.0).join();
+            double saldo = controle.consultarSaldo(origem).join();
+
+            assertAll("Resultados",
+                    () -> assertEquals(ResultadoOperacao.OK, pix),
+                    () -> assertEquals(ResultadoOperacao.SALDO_INSUFICIENTE, saque),
+                    () -> assertEquals(70.0, saldo),
+                    () -> assertEquals(3, controle.getConcluidas()),
+                    () -> assertEquals(2, controle.getAceitas(PrioridadeOperacao.ALTA))
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("Sob fila cheia deve recusar primeiro os lotes e executar contas diferentes por prioridade")
+    void deveRecusarEPriorizar() throws Exception{
+        try (ControleAdmissao controle = new ControleAdmissao(1, 4, 1_000.0, new LimiteAdaptativo(1, 1, Duration.ofMillis(50)))) {
+            CountDownLatch iniciou = new CountDownLatch(1);
+            CountDownLatch liberar = new CountDownLatch(1);
+            CompletableFuture<Boolean> bloqueio = controle.submeter(PrioridadeOperacao.ALTA, "x", () -> {
+                iniciou.countDown();
+                try{
+                    return liberar.await(10, TimeUnit.SECONDS);
+                }
+                catch(InterruptedException e){
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            });
+            assertTrue(iniciou.await(10, TimeUnit.SECONDS));
+
+            List<String> ordem = Collections.synchronizedList(new ArrayList<>());
+            List<CompletableFuture<Boolean>> aceitas = new ArrayList<>();
+            aceitas.add(controle.submeter(PrioridadeOperacao.BAIXA, "b1", () -> ordem.add("b1")));
+            aceitas.add(controle.submeter(PrioridadeOperacao.BAIXA, "b2", () -> ordem.add("b2")));
+            CompletableFuture<Boolean> baixaRecusada = controle.submeter(PrioridadeOperacao.BAIXA, "b3", () -> ordem.add("b3"));
+            aceitas.add(controle.submeter(PrioridadeOperacao.NORMAL, "n1", () -> ordem.add("n1")));
+            CompletableFuture<Boolean> normalRecusada = controle.submeter(PrioridadeOperacao.NORMAL, "n2", () -> ordem.add("n2"));
+            aceitas.add(controle.submeter(PrioridadeOperacao.ALTA, "a1", () -> ordem.add("a1")));
+            CompletableFuture<Boolean> altaRecusada = controle.submeter(PrioridadeOperacao.ALTA, "a2", () -> ordem.add("a2"));
+            int profundidade = controle.getProfundidade();
+
+            liberar.countDown();
+            assertTrue(bloqueio.get(10, TimeUnit.SECONDS));
+            for (CompletableFuture<Boolean> aceita : aceitas) {
+                aceita.get(10, TimeUnit.SECONDS);
+            }
+
+            ExecutionException recusa = assertThrows(ExecutionException.class, baixaRecusada::get);
+            assertAll("Admissão",
+                    () -> assertInstanceOf(SobrecargaException.class, recusa.getCause()),
+                    () -> assertTrue(normalRecusada.isCompletedExceptionally()),
+                    () -> assertTrue(altaRecusada.isCompletedExceptionally()),
+                    () -> assertEquals(List.of("a1", "n1", "b1", "b2"), ordem),
+                    () -> assertEquals(4, profundidade),
+                    () -> assertEquals(4, controle.getProfundidadeMaxima()),
+                    () -> assertEquals(1, controle.getRecusadas(PrioridadeOperacao.BAIXA)),
+                    () -> assertEquals(1, controle.getRecusadas(PrioridadeOperacao.NORMAL)),
+                    () -> assertEquals(1, controle.getRecusadas(PrioridadeOperacao.ALTA))
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("Operações da mesma conta devem seguir a ordem de chegada, mesmo com prioridades diferentes")
+    void deveManterOrdemPorConta() throws Exception{
+        ContaBancaria conta = new ContaPoupanca("111", "A-1", "0001", 0.0);
+        ContaBancaria destino = new ContaPoupanca("222", "B-1", "0001", 0.0);
+        try (ControleAdmissao controle = new ControleAdmissao(1, 16, 1_000.0, new LimiteAdaptativo(1, 1, Duration.ofMillis(50)))) {
+            CountDownLatch liberar = new CountDownLatch(1);
+            CompletableFuture<Boolean> bloqueio = controle.submeter(PrioridadeOperacao.ALTA, "x", () -> {
+                try{
+                    return liberar.await(10, TimeUnit.SECONDS);
+                }
+                catch(InterruptedException e){
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            });
+
+            CompletableFuture<ResultadoOperacao> deposito = controle.depositar(conta, 100.0);
+            CompletableFuture<ResultadoOperacao> pix = controle.transferir(conta, 50.0, destino);
+            liberar.countDown();
+
+            assertAll("Ordem por conta",
+                    () -> assertTrue(bloqueio.get(10, TimeUnit.SECONDS)),
+                    () -> assertEquals(PrioridadeOperacao.ALTA, controle.classificar(TipoOperacao.PIX, 50.0)),
+                    () -> assertEquals(ResultadoOperacao.OK, deposito.get(10, TimeUnit.SECONDS)),
+                    () -> assertEquals(ResultadoOperacao.OK, pix.get(10, TimeUnit.SECONDS)),
+                    () -> assertEquals(50.0, conta.getSaldo()),
+                    () -> assertEquals(50.0, destino.getSaldo())
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("Um Error na operação deve falhar apenas o seu futuro, sem derrubar a partição")
+    void deveSobreviverAErrorNaOperacao() throws Exception{
+        LimiteAdaptativo limite = new LimiteAdaptativo(1, 1, Duration.ofMillis(50));
+        try (ControleAdmissao controle = new ControleAdmissao(1, 8, 1_000.0, limite)) {
+            CompletableFuture<Integer> comErro = controle.submeter(PrioridadeOperacao.NORMAL, "x", () -> {
+                throw new StackOverflowError("simulado");
+            });
+            CompletableFuture<Integer> seguinte = controle.submeter(PrioridadeOperacao.NORMAL, "x", () -> 42);
+
+            ExecutionException falha = assertThrows(ExecutionException.class, () -> comErro.get(10, TimeUnit.SECONDS));
+            assertAll("Partição íntegra",
+                    () -> assertInstanceOf(StackOverflowError.class, falha.getCause()),
+                    () -> assertEquals(42, seguinte.get(10, TimeUnit.SECONDS)),
+                    () -> assertEquals(2, controle.getConcluidas()),
+                    () -> assertEquals(0, limite.getEmExecucao())
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("O limite de concorrência deve cair com latência alta e se recuperar com latência baixa")
+    void deveAdaptarOLimite() throws InterruptedException{
+        LimiteAdaptativo limite = new LimiteAdaptativo(1, 8, Duration.ofMillis(1));
+        for (int i = 0; i < 50; i++) {
+            limite.adquirir();
+            limite.liberar(Duration.ofMillis(10).toNanos());
+        }
+        int reduzido = limite.getLimite();
+        for (int i = 0; i < 500; i++) {
+            limite.adquirir();
+            limite.liberar(Duration.ofMillis(10).toNanos() / 100);
+        }
+
+        assertAll("AIMD",
+                () -> assertTrue(reduzido < 8 && reduzido >= 1, "limite reduzido: " + reduzido),
+                () -> assertTrue(limite.getReducoes() > 0),
+                () -> assertEquals(8, limite.getLimite()),
+                () -> assertEquals(0, limite.getEmExecucao())
+        );
+    }
+}
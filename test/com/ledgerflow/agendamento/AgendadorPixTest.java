@@ -0,0 +1,173 @@
+package com.ledgerflow.agendamento;
+
+import com.ledgerflow.enums.Recorrencia;
+import com.ledgerflow.enums.StatusAgendamento;
+import com.ledgerflow.model.ContaBancaria;
+import com.ledgerflow.model.ContaCorrente;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PIX Agendado e Recorrente - Roda de Temporização")
+class AgendadorPixTest {
+
+    private static final LocalDateTime AGORA = LocalDateTime.of(2026, 1, 10, 9, 0);
+
+    private ContaBancaria contaOrigem;
+    private ContaBancaria contaDestino;
+    private Map<String, ContaBancaria> contas;
+    private Clock relogio;
+
+    @BeforeEach
+    void setup(){
+        contaOrigem = new ContaCorrente("123", "001", "1010", 1000.0);
+        contaDestino = new ContaCorrente("456", "002", "2020", 500.0);
+        contas = new HashMap<>();
+        contas.put(contaOrigem.getNumero(), contaOrigem);
+        contas.put(contaDestino.getNumero(), contaDestino);
+        relogio = Clock.fixed(AGORA.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+    }
+
+    @Test
+    @DisplayName("Deve executar o PIX único apenas quando a data agendada é atingida")
+    void deveExecutarNaDataAgendada(){
+        AgendadorPix agendador = new AgendadorPix(contas, relogio);
+        agendador.agendar("001", "002", 200.0, AGORA.plusDays(2), Recorrencia.UNICA);
+
+        assertEquals(0, agendador.processarAte(AGORA.plusDays(1)));
+        assertEquals(1, agendador.processarAte(AGORA.plusDays(2)));
+
+        assertAll("Transferência efetivada",
+                () -> assertEquals(800.0, contaOrigem.getSaldo()),
+                () -> assertEquals(700.0, contaDestino.getSaldo()),
+                () -> assertEquals(0, agendador.getQuantidadePendentes())
+        );
+    }
+
+    @Test
+    @DisplayName("Deve manter o dia original em recorrências mensais (31 -> 28 -> 31)")
+    void deveRespeitarRecorrenciaMensal(){
+        AgendadorPix agendador = new AgendadorPix(contas, relogio);
+        AgendamentoPix aluguel = agendador.agendar("001", "002", 100.0,
+                LocalDateTime.of(2026, 1, 31, 8, 0), Recorrencia.MENSAL);
+
+        agendador.processarAte(LocalDateTime.of(2026, 1, 31, 8, 0));
+        assertEquals(LocalDateTime.of(2026, 2, 28, 8, 0), aluguel.getProximaExecucao());
+
+        agendador.processarAte(LocalDateTime.of(2026, 2, 28, 8, 0));
+        assertEquals(LocalDateTime.of(2026, 3, 31, 8, 0), aluguel.getProximaExecucao());
+        assertEquals(800.0, contaOrigem.getSaldo());
+    }
+
+    @Test
+    @DisplayName("Não deve executar agendamentos cancelados")
+    void deveCancelarAgendamento(){
+        AgendadorPix agendador = new AgendadorPix(contas, relogio);
+        AgendamentoPix ag = agendador.agendar("001", "002", 200.0, AGORA.plusHours(1), Recorrencia.SEMANAL);
+
+        assertTrue(agendador.cancelar(ag.getId()));
+        assertEquals(0, agendador.processarAte(AGORA.plusDays(30)));
+        assertAll("Nenhum efeito colateral",
+                () -> assertEquals(StatusAgendamento.CANCELADO, ag.getStatus()),
+                () -> assertEquals(1000.0, contaOrigem.getSaldo()),
+                () -> assertFalse(agendador.cancelar(ag.getId()))
+        );
+    }
+
+    @Test
+    @DisplayName("Deve retentar por saldo insuficiente e falhar após o limite")
+    void deveRetentarPorSaldoInsuficiente(){
+        AgendadorPix agendador = new AgendadorPix(contas, relogio);
+        agendador.configurarRetentativas(2, Duration.ofMinutes(30));
+        AgendamentoPix semSaldo = agendador.agendar("002", "001", 5000.0, AGORA, Recorrencia.UNICA);
+        AgendamentoPix comDeposito = agendador.agendar("001", "002", 1500.0, AGORA, Recorrencia.UNICA);
+
+        agendador.processarAte(AGORA);
+        contaOrigem.depositar(600.0);
+        agendador.processarAte(AGORA.plusMinutes(30));
+        agendador.processarAte(AGORA.plusMinutes(60));
+
+        assertAll("Resultado das retentativas",
+                () -> assertEquals(StatusAgendamento.FALHOU, semSaldo.getStatus()),
+                () -> assertEquals(StatusAgendamento.EXECUTADO, comDeposito.getStatus()),
+                () -> assertEquals(3, agendador.getTotalRetentativas()),
+                () -> assertEquals(100.0, contaOrigem.getSaldo())
+        );
+    }
+
+    @Test
+    @DisplayName("Deve recuperar agendamentos pendentes do journal após reinício")
+    void deveSobreviverAReinicio(@TempDir Path dir){
+        Path journal = dir.resolve("agendamentos.log");
+        AgendadorPix primeiro = new AgendadorPix(contas, relogio, journal);
+        AgendamentoPix semanal = primeiro.agendar("001", "002", 50.0, AGORA, Recorrencia.SEMANAL);
+        AgendamentoPix cancelado = primeiro.agendar("001", "002", 70.0, AGORA.plusDays(1), Recorrencia.UNICA);
+        primeiro.processarAte(AGORA);
+        primeiro.cancelar(cancelado.getId());
+        primeiro.encerrar();
+
+        AgendadorPix reiniciado = new AgendadorPix(contas, relogio, journal);
+        AgendamentoPix recuperado = reiniciado.buscar(semanal.getId());
+
+        assertAll("Estado recuperado",
+                () -> assertEquals(1, reiniciado.getQuantidadePendentes()),
+                () -> assertEquals(AGORA.plusWeeks(1), recuperado.getProximaExecucao()),
+                () -> assertEquals(1, reiniciado.processarAte(AGORA.plusWeeks(1))),
+                () -> assertEquals(900.0, contaOrigem.getSaldo())
+        );
+    }
+
+    @Test
+    @DisplayName("Não deve pagar de novo a ocorrência interrompida por uma queda após a transferência")
+    void naoDeveRepetirOcorrenciaInterrompida(@TempDir Path dir) throws IOException{
+        Path journal = dir.resolve("agendamentos.log");
+        AgendadorPix primeiro = new AgendadorPix(contas, relogio, journal);
+        AgendamentoPix pago = primeiro.agendar("001", "002", 50.0, AGORA, Recorrencia.SEMANAL);
+        AgendamentoPix naoPago = primeiro.agendar("001", "002", 30.0, AGORA, Recorrencia.UNICA);
+        primeiro.encerrar();
+
+        // queda no meio do lote: as duas marcadas em execução, só a primeira chegou a debitar
+        Files.writeString(journal, "E;" + pago.getId() + ";0\nE;" + naoPago.getId() + ";0\n",
+                StandardOpenOption.APPEND);
+        contaOrigem.tentarTransferir(50.0, contaDestino, pago.getIdTransacaoOcorrencia());
+
+        AgendadorPix reiniciado = new AgendadorPix(contas, relogio, journal);
+
+        assertAll("Recuperação sem pagamento em dobro",
+                () -> assertEquals(AGORA.plusWeeks(1), reiniciado.buscar(pago.getId()).getProximaExecucao()),
+                () -> assertEquals(1, reiniciado.processarAte(AGORA)),
+                () -> assertEquals(920.0, contaOrigem.getSaldo()),
+                () -> assertEquals(580.0, contaDestino.getSaldo()),
+                () -> assertEquals(1, reiniciado.getQuantidadePendentes())
+        );
+    }
+
+    @Test
+    @DisplayName("Deve marcar todo o lote em execução antes de gravar qualquer resultado")
+    void deveMarcarLoteAntesDasTransferencias(@TempDir Path dir) throws IOException{
+        Path journal = dir.resolve("agendamentos.log");
+        AgendadorPix agendador = new AgendadorPix(contas, relogio, journal);
+        agendador.agendar("001", "002", 10.0, AGORA, Recorrencia.UNICA);
+        agendador.agendar("001", "002", 20.0, AGORA, Recorrencia.SEMANAL);
+        agendador.processarAte(AGORA);
+        agendador.encerrar();
+
+        List<String> eventos = Files.readAllLines(journal).stream()
+                .map(linha -> linha.substring(0, 1)).toList();
+
+        assertEquals(List.of("A", "A", "E", "E", "F", "P"), eventos);
+    }
+}
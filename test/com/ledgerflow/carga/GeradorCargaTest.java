@@ -0,0 +1,79 @@
+package com.ledgerflow.carga;
+
+import com.ledgerflow.enums.TipoOperacao;
+import com.ledgerflow.model.ContaBancaria;
+import com.ledgerflow.repositorio.RepositorioContas;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Carga Sintética - Geração, Gravação e Reprodução")
+class GeradorCargaTest {
+
+    private static final int CLIENTES = 2_000;
+    private static final long SEMENTE = 2026L;
+
+    private CargaTrabalho carga;
+
+    @BeforeEach
+    void setup(){
+        carga = GeradorCarga.gerar(CLIENTES, SEMENTE, 20_000, MixOperacoes.parse(MixOperacoes.PADRAO), 1.1, SEMENTE);
+    }
+
+    @Test
+    @DisplayName("Deve gerar a mesma população para a mesma semente")
+    void deveGerarPopulacaoDeterministica(){
+        RepositorioContas a = GeradorPopulacao.gerar(CLIENTES, SEMENTE);
+        RepositorioContas b = GeradorPopulacao.gerar(CLIENTES, SEMENTE);
+
+        assertEquals(CLIENTES, a.tamanho());
+        for (int i = 0; i < CLIENTES; i++) {
+            ContaBancaria ca = a.getContas().get(i);
+            ContaBancaria cb = b.getContas().get(i);
+            assertEquals(ca.getNumero(), cb.getNumero());
+            assertEquals(ca.getSaldo(), cb.getSaldo());
+            assertSame(ca, a.buscarPorChavePix(ca.getCpfTitular()), "Toda conta deve ter a chave CPF");
+        }
+    }
+
+    @Test
+    @DisplayName("Deve concentrar o tráfego nas contas mais populares (assimetria Zipf)")
+    void deveConcentrarAcessoNasContasPopulares(){
+        int naPrimeiraConta = 0;
+        int naUltimaMetade = 0;
+        for (int i = 0; i < carga.tamanho(); i++) {
+            if(carga.getOrigem(i) == 0) naPrimeiraConta++;
+            if(carga.getOrigem(i) >= CLIENTES / 2) naUltimaMetade++;
+            if(carga.getTipo(i) == TipoOperacao.PIX){
+                assertNotEquals(carga.getOrigem(i), carga.getDestino(i), "PIX não pode ser para a mesma conta");
+            }
+        }
+        assertTrue(naPrimeiraConta > naUltimaMetade,
+                "A conta mais popular deve receber mais tráfego que a metade menos popular inteira");
+    }
+
+    @Test
+    @DisplayName("Deve reproduzir a carga gravada de forma determinística")
+    void deveReproduzirDeFormaDeterministica(@TempDir Path dir) throws Exception{
+        Path arquivo = dir.resolve("carga.bin");
+        ArquivoCarga.gravar(carga, arquivo);
+        CargaTrabalho lida = ArquivoCarga.ler(arquivo);
+
+        RepositorioContas primeira = GeradorPopulacao.gerar(CLIENTES, SEMENTE);
+        RepositorioContas segunda = GeradorPopulacao.gerar(lida.getQuantidadeClientes(), lida.getSementePopulacao());
+        RelatorioCarga r1 = ExecutorCarga.executar(carga, primeira, 0, 1);
+        RelatorioCarga r2 = ExecutorCarga.executar(lida, segunda, 0, 1);
+
+        assertEquals(carga.tamanho(), r1.getOperacoes());
+        assertEquals(r1.getRejeitadas(), r2.getRejeitadas());
+        List<ContaBancaria> c1 = primeira.getContas();
+        List<ContaBancaria> c2 = segunda.getContas();
+        for (int i = 0; i < CLIENTES; i++) {
+            assertEquals(c1.get(i).getSaldo(), c2.get(i).getSaldo(), "Saldo divergente na conta " + i);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.ledgerflow.extrato;
+
+import com.ledgerflow.enums.TipoTransacao;
+import com.ledgerflow.model.ContaBancaria;
+import com.ledgerflow.model.ContaCorrente;
+import org.junit.jupiter.api.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Cache de Extratos Formatados")
+class CacheExtratoTest {
+
+    /** Relógio do sistema com deslocamento ajustável, para simular a passagem do tempo. */
+    private static final class RelogioDeslocado extends Clock {
+        private Duration deslocamento = Duration.ZERO;
+
+        @Override
+        public ZoneId getZone(){
+            return ZoneId.systemDefault();
+        }
+
+        @Override
+        public Clock withZone(ZoneId zona){
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant(){
+            return Instant.now().plus(deslocamento);
+        }
+    }
+
+    /** Conta cuja trava de escrita o teste pode segurar, simulando uma escrita demorada. */
+    private static final class ContaTravavel extends ContaCorrente {
+        private ContaTravavel(String cpf, String numero){
+            super(cpf, numero, "1010", 0.0);
+        }
+
+        private void travar(){
+            travarEscrita();
+        }
+
+        private void liberar(){
+            liberarEscrita();
+        }
+    }
+
+    private RelogioDeslocado relogio;
+    private CacheExtrato cache;
+    private ContaBancaria conta;
+
+    @BeforeEach
+    void setup(){
+        relogio = new RelogioDeslocado();
+        cache = new CacheExtrato(2, 10, Duration.ofMinutes(5), relogio);
+        conta = new ContaCorrente("12345678900", "001", "1010", 1000.0);
+        conta.depositar(100.0);
+        conta.sacar(50.0);
+    }
+
+    @Test
+    @DisplayName("Deve estender a consulta com as transações anexadas, sem refazer o extrato")
+    void deveEstenderComNovasTransacoes(){
+        List<String> primeira = cache.consultar(conta, null, 30);
+        List<String> repetida = cache.consultar(conta, null, 30);
+        conta.depositar(25.0);
+        List<String> estendida = cache.consultar(conta, null, 30);
+
+        assertAll("Consultas repetidas",
+                () -> assertEquals(2, primeira.size()),
+                () -> assertEquals(primeira, repetida),
+                () -> assertEquals(3, estendida.size()),
+                () -> assertEquals(conta.formatarTransacao(conta.getTransacoes().get(2), "001"), estendida.get(2)),
+                () -> assertEquals(1, cache.getFalhas()),
+                () -> assertEquals(1, cache.getAcertos()),
+                () -> assertEquals(1, cache.getExtensoes())
+        );
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o filtro de tipo e tratar 0 dias como histórico completo")
+    void deveFiltrarPorTipoEPeriodo(){
+        conta.depositar(10.0);
+
+        assertAll("Filtros",
+                () -> assertEquals(2, cache.consultar(conta, TipoTransacao.DEPOSITO, 0).size()),
+                () -> assertEquals(1, cache.consultar(conta, TipoTransacao.SAQUE, 7).size()),
+                () -> assertTrue(cache.consultar(conta, TipoTransacao.PIX, 30).isEmpty())
+        );
+    }
+
+    @Test
+    @DisplayName("Deve descartar transações que saíram da janela de dias")
+    void deveDeslizarAJanela(){
+        assertEquals(2, cache.consultar(conta, null, 1).size());
+
+        relogio.deslocamento = Duration.ofHours(25);
+        assertAll("Janela deslizante",
+                () -> assertTrue(cache.consultar(conta, null, 1).isEmpty()),
+                () -> assertEquals(2, cache.consultar(conta, null, 2).size())
+        );
+    }
+
+    @Test
+    @DisplayName("Deve reproduzir o extrato completo de um histórico com segmentos frios")
+    void deveConsultarHistoricoCompactado(){
+        for (int i = 0; i < 5_000; i++) {
+            conta.depositar(1 + i % 40);
+        }
+        List<String> esperado = conta.getTransacoes().stream()
+                .map(t -> conta.formatarTransacao(t, conta.getNumero()))
+                .toList();
+
+        List<String> primeira = cache.consultar(conta, null, 0);
+        conta.sacar(5.0);
+        List<String> estendida = cache.consultar(conta, null, 0);
+
+        assertAll("Histórico compactado",
+                () -> assertEquals(esperado, primeira),
+                () -> assertEquals(esperado.size() + 1, estendida.size()),
+                () -> assertEquals(esperado, estendida.subList(0, esperado.size())),
+                () -> assertEquals(1, cache.getExtensoes())
+        );
+    }
+
+    @Test
+    @DisplayName("Uma consulta bloqueada em uma conta não deve atrasar consultas de outras contas")
+    void naoDeveBloquearOutrasContas() throws Exception{
+        ContaTravavel ocupada = new ContaTravavel("11111111111", "077");
+        ocupada.depositar(10.0);
+        CompletableFuture<List<String>> bloqueada;
+        List<String> livre;
+        boolean aindaBloqueada;
+        ocupada.travar();
+        try{
+            bloqueada = CompletableFuture.supplyAsync(() -> cache.consultar(ocupada, null, 0));
+            Thread.sleep(50);
+            livre = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> cache.consultar(conta, null, 0));
+            aindaBloqueada = !bloqueada.isDone();
+        }
+        finally{
+            ocupada.liberar();
+        }
+
+        assertAll("Contas independentes",
+                () -> assertEquals(2, livre.size()),
+                () -> assertTrue(aindaBloqueada),
+                () -> assertEquals(1, bloqueada.get(5, TimeUnit.SECONDS).size())
+        );
+    }
+
+    @Test
+    @DisplayName("Deve limitar o total de linhas guardadas, descartando as contas usadas há mais tempo")
+    void deveLimitarLinhasGuardadas(){
+        CacheExtrato limitado = new CacheExtrato(2, 10, 100, Duration.ofMinutes(5), relogio);
+        ContaBancaria grande = new ContaCorrente("1", "010", "1010", 0.0);
+        ContaBancaria media = new ContaCorrente("2", "020", "1010", 0.0);
+        ContaBancaria outra = new ContaCorrente("3", "030", "1010", 0.0);
+        for (int i = 0; i < 150; i++) {
+            grande.depositar(1.0);
+        }
+        for (int i = 0; i < 60; i++) {
+            media.depositar(1.0);
+            outra.depositar(1.0);
+        }
+
+        int linhasGrande = limitado.consultar(grande, null, 0).size();
+        long guardadasAposGrande = limitado.getLinhas();
+        limitado.consultar(media, null, 30);
+        long guardadasAposMedia = limitado.getLinhas();
+        limitado.consultar(outra, null, 30);
+        limitado.consultar(media, null, 30);
+
+        assertAll("Limite de linhas",
+                () -> assertEquals(150, linhasGrande),
+                () -> assertEquals(0, guardadasAposGrande),
+                () -> assertEquals(60, guardadasAposMedia),
+                () -> assertEquals(60, limitado.getLinhas()),
+                () -> assertEquals(4, limitado.getFalhas()),
+                () -> assertEquals(3, limitado.getRemovidas())
+        );
+    }
+
+    @Test
+    @DisplayName("Deve expirar por idade e remover consultas além do limite por conta")
+    void deveExpirarERemover(){
+        cache.consultar(conta, null, 30);
+        cache.consultar(conta, TipoTransacao.SAQUE, 30);
+        cache.consultar(conta, TipoTransacao.DEPOSITO, 30);
+        cache.consultar(conta, null, 30);
+
+        relogio.deslocamento = Duration.ofMinutes(6);
+        cache.consultar(conta, TipoTransacao.DEPOSITO, 30);
+
+        assertAll("Limites",
+                () -> assertEquals(2, cache.getRemovidas()),
+                () -> assertEquals(1, cache.getExpiradas()),
+                () -> assertEquals(5, cache.getFalhas()),
+                () -> assertEquals(0.0, cache.getTaxaAcerto())
+        );
+    }
+}
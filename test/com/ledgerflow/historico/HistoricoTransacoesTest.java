@@ -0,0 +1,143 @@
+package com.ledgerflow.historico;
+
+import com.ledgerflow.enums.TipoTransacao;
+import com.ledgerflow.model.Transacao;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Histórico em Camadas - Janela Quente e Segmentos Frios")
+class HistoricoTransacoesTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2020, 1, 1, 8, 0);
+
+    private HistoricoTransacoes historico;
+    private List<Transacao> originais;
+
+    @BeforeEach
+    void setup(){
+        // Arrange: janela pequena para forçar a compactação de vários segmentos
+        historico = new HistoricoTransacoes(4, 8);
+        originais = new ArrayList<>();
+        TipoTransacao[] tipos = TipoTransacao.values();
+        for (int i = 0; i < 50; i++) {
+            Transacao t = new Transacao(
+                    i % 7 == 0 ? "legado-" + i : UUID.randomUUID().toString(),
+                    "00" + (i % 3),
+                    i % 2 == 0 ? null : "99" + (i % 5),
+                    i % 5 == 0 ? 1234.5678 * i : 10.25 * i,
+                    tipos[i % tipos.length],
+                    BASE.plusDays(i).plusNanos(i * 1_001L)
+            );
+            originais.add(t);
+            historico.add(t);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve compactar o excedente da janela quente em segmentos frios")
+    void deveCompactarTransacoesAntigas(){
+        assertAll("Distribuição entre camadas",
+                () -> assertEquals(50, historico.size()),
+                () -> assertEquals(40, historico.getQuantidadeFria()),
+                () -> assertEquals(10, historico.getQuantidadeQuente()),
+                () -> assertTrue(historico.getBytesCamadaFria() > 0)
+        );
+    }
+
+    @Test
+    @DisplayName("Deve decodificar a camada fria sem perda de nenhum campo")
+    void deveDecodificarSemPerdas(){
+        List<Transacao> lidas = new ArrayList<>(historico);
+
+        for (int i = 0; i < originais.size(); i++) {
+            assertMesmaTransacao(originais.get(i), lidas.get(i));
+            assertMesmaTransacao(originais.get(i), historico.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Data API: Deve filtrar por tipo e período alcançando segmentos frios")
+    void deveBuscarEmIntervaloFrio(){
+        LocalDateTime inicio = BASE.plusDays(10);
+        LocalDateTime fim = BASE.plusDays(20);
+
+        List<Transacao> resultado = historico.buscar(TipoTransacao.DEPOSITO, inicio, fim);
+
+        List<Transacao> esperado = originais.stream()
+                .filter(t -> t.getTipo() == TipoTransacao.DEPOSITO)
+                .filter(t -> !t.getDataHora().isBefore(inicio) && !t.getDataHora().isAfter(fim))
+                .toList();
+        assertEquals(esperado.size(), resultado.size());
+        for (int i = 0; i < esperado.size(); i++) {
+            assertMesmaTransacao(esperado.get(i), resultado.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve preservar as datas além dos pontos do índice esparso com os tamanhos padrão")
+    void deveDecodificarSegmentosPadraoSemPerdas(){
+        HistoricoTransacoes padrao = new HistoricoTransacoes();
+        List<Transacao> esperadas = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            Transacao t = new Transacao(UUID.randomUUID().toString(), "001", null, 1 + i % 90,
+                    TipoTransacao.DEPOSITO, BASE.plusMinutes(i));
+            esperadas.add(t);
+            padrao.add(t);
+        }
+        LocalDateTime fim = BASE.plusHours(2);
+
+        List<Transacao> iteradas = new ArrayList<>(padrao);
+        for (int i = 0; i < esperadas.size(); i++) {
+            assertMesmaTransacao(esperadas.get(i), iteradas.get(i));
+            assertMesmaTransacao(esperadas.get(i), padrao.get(i));
+        }
+        List<Transacao> buscadas = padrao.buscar(null, BASE, fim);
+        assertAll("Segmentos com vários pontos de índice",
+                () -> assertTrue(padrao.getQuantidadeFria() >= 2 * HistoricoTransacoes.TAMANHO_SEGMENTO_PADRAO),
+                () -> assertEquals(121, buscadas.size()),
+                () -> assertEquals(fim, buscadas.get(buscadas.size() - 1).getDataHora())
+        );
+    }
+
+    @Test
+    @DisplayName("O iterador deve falhar rápido se o histórico for compactado durante o percurso")
+    void deveFalharRapidoComCompactacaoDuranteIteracao(){
+        Iterator<Transacao> it = historico.iterator();
+        it.next();
+        int friasAntes = historico.getQuantidadeFria();
+        for (int i = 0; i < 8; i++) {
+            historico.add(originais.get(i));
+        }
+
+        assertAll("Fail-fast",
+                () -> assertTrue(historico.getQuantidadeFria() > friasAntes),
+                () -> assertThrows(ConcurrentModificationException.class, it::next)
+        );
+    }
+
+    @Test
+    @DisplayName("Deve impedir remoção de entradas do log transacional")
+    void deveManterImutabilidade(){
+        assertThrows(UnsupportedOperationException.class, () -> historico.remove(0));
+        assertThrows(UnsupportedOperationException.class, () -> historico.set(0, originais.get(1)));
+    }
+
+    private static void assertMesmaTransacao(Transacao esperada, Transacao atual){
+        assertAll("Transação " + esperada.getId(),
+                () -> assertEquals(esperada.getId(), atual.getId()),
+                () -> assertEquals(esperada.getNumeroContaOrigem(), atual.getNumeroContaOrigem()),
+                () -> assertEquals(esperada.getNumeroContaDestino(), atual.getNumeroContaDestino()),
+                () -> assertEquals(esperada.getValor(), atual.getValor()),
+                () -> assertEquals(esperada.getTipo(), atual.getTipo()),
+                () -> assertEquals(esperada.getDataHora(), atual.getDataHora())
+        );
+    }
+}
@@ -0,0 +1,92 @@
+package com.ledgerflow.importacao;
+
+import com.ledgerflow.carga.GeradorPopulacao;
+import com.ledgerflow.model.ContaBancaria;
+import com.ledgerflow.model.Transacao;
+import com.ledgerflow.repositorio.RepositorioContas;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Importação em Lote de Contas e Históricos")
+class ImportadorContasTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("Deve reproduzir contas, chaves PIX e históricos exportados, lendo trechos em paralelo")
+    void deveImportarOQueFoiExportado() throws IOException{
+        RepositorioContas origem = GeradorPopulacao.gerar(2_000, 7L);
+        List<ContaBancaria> contas = origem.getContas();
+        for (int i = 0; i < 12_000; i++) {
+            contas.get(i % contas.size()).depositar(1 + i % 50);
+            contas.get(i % contas.size()).transferir(0.5, contas.get((i * 31 + 1) % contas.size()));
+        }
+        Path arquivoContas = dir.resolve("contas.csv");
+        Path arquivoTransacoes = dir.resolve("transacoes.csv");
+        ExportadorCsv.exportar(origem, arquivoContas, arquivoTransacoes);
+
+        RelatorioImportacao relatorio = new ImportadorContas(4).importar(arquivoContas, arquivoTransacoes);
+        RepositorioContas importado = relatorio.getRepositorio();
+
+        ContaBancaria original = contas.get(123);
+        ContaBancaria copia = importado.buscarPorNumero(original.getNumero());
+        Transacao ultimaOriginal = original.getTransacoes().get(original.getTransacoes().size() - 1);
+        Transacao ultimaCopia = copia.getTransacoes().get(copia.getTransacoes().size() - 1);
+        assertAll("Ida e volta",
+                () -> assertTrue(Files.size(arquivoTransacoes) > 2 << 20, "o arquivo deve ocupar vários trechos"),
+                () -> assertEquals(2_000, relatorio.getContas()),
+                () -> assertEquals(contas.stream().mapToLong(c -> c.getTransacoes().size()).sum(), relatorio.getTransacoes()),
+                () -> assertEquals(original.getSaldo(), copia.getSaldo(), 0.001),
+                () -> assertEquals(original.getTipoConta(), copia.getTipoConta()),
+                () -> assertEquals(original.getTransacoes().size(), copia.getTransacoes().size()),
+                () -> assertEquals(ultimaOriginal.getId(), ultimaCopia.getId()),
+                () -> assertEquals(ultimaOriginal.getDataHora(), ultimaCopia.getDataHora()),
+                () -> assertEquals(ultimaOriginal.getNumeroContaDestino(), ultimaCopia.getNumeroContaDestino()),
+                () -> assertSame(copia, importado.buscarPorChavePix(original.getCpfTitular())),
+                () -> assertEquals(origem.getContasPorChavePix().size(), importado.getContasPorChavePix().size())
+        );
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar arquivo cujos totais não batem com o rodapé")
+    void deveValidarRodape() throws IOException{
+        Path contas = dir.resolve("contas.csv");
+        Files.writeString(contas, """
+                cpf;nome;email;telefone;numero;agencia;tipo;saldo;chaves
+                111;Ana;;;001;0001;CORRENTE;100.50;CPF=111
+                222;Bruno;;;002;0001;POUPANCA;10;
+                #TOTAL;2;110.49
+                """);
+
+        IOException erro = assertThrows(IOException.class, () -> new ImportadorContas(2).importar(contas, null));
+        assertTrue(erro.getMessage().contains("totais divergentes"), erro.getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve apontar a posição da linha inválida e rejeitar transações de contas inexistentes")
+    void deveRejeitarLinhasInvalidas() throws IOException{
+        Path contas = dir.resolve("contas.csv");
+        Files.writeString(contas, "111;Ana;;;001;0001;CORRENTE;100;\n#TOTAL;1;100\n");
+        Path formatoInvalido = dir.resolve("t1.csv");
+        Files.writeString(formatoInvalido, "001;legado-1;SAQUE;10.5;2020-01-02 10:00:00;001;\n#TOTAL;1;10.5\n");
+        Path contaInexistente = dir.resolve("t2.csv");
+        Files.writeString(contaInexistente, "001;legado-1;DEPOSITO;10;2020-01-02T10:00:00;001;\n"
+                + "999;legado-2;DEPOSITO;10;2020-01-02T10:00:00;999;\n#TOTAL;2;20\n");
+
+        ImportadorContas importador = new ImportadorContas(2);
+        IOException formato = assertThrows(IOException.class, () -> importador.importar(contas, formatoInvalido));
+        IOException inexistente = assertThrows(IOException.class, () -> importador.importar(contas, contaInexistente));
+        assertAll("Mensagens de erro",
+                () -> assertTrue(formato.getMessage().contains("posição 0: data/hora"), formato.getMessage()),
+                () -> assertTrue(inexistente.getMessage().contains("conta inexistente 999"), inexistente.getMessage())
+        );
+    }
+}
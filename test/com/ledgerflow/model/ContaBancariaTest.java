@@ -1,11 +1,13 @@
 package com.ledgerflow.model;
 
+import com.ledgerflow.enums.ResultadoOperacao;
 import com.ledgerflow.enums.TipoTransacao;
 import com.ledgerflow.exceptions.InsufficientFundsException;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.lang.management.ManagementFactory;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -102,6 +104,68 @@ class ContaBancariaTest{
         );
     }
 
+    // --- API SEM EXCEÇÕES ---
+
+    @Test
+    @DisplayName("Deve informar cada recusa por código, sem alterar saldos")
+    void deveRetornarCodigosDeRecusa(){
+        ContaBancaria poupanca = new ContaPoupanca("789", "003", "1010", 100.0);
+
+        assertAll("Códigos de resultado",
+                () -> assertEquals(ResultadoOperacao.VALOR_INVALIDO, contaOrigem.tentarDepositar(0.0)),
+                () -> assertEquals(ResultadoOperacao.VALOR_INVALIDO, contaOrigem.tentarSacar(-5.0)),
+                () -> assertEquals(ResultadoOperacao.LIMITE_EXCEDIDO, contaOrigem.tentarSacar(1000.01)),
+                () -> assertEquals(ResultadoOperacao.SALDO_INSUFICIENTE, poupanca.tentarSacar(100.01)),
+                () -> assertEquals(ResultadoOperacao.AUTO_TRANSFERENCIA, contaOrigem.tentarTransferir(10.0, contaOrigem)),
+                () -> assertEquals(ResultadoOperacao.VALOR_INVALIDO, contaOrigem.tentarTransferir(0.0, contaDestino)),
+                () -> assertEquals(ResultadoOperacao.SALDO_INSUFICIENTE, poupanca.tentarTransferir(200.0, contaDestino)),
+                () -> assertEquals(1000.0, contaOrigem.getSaldo()),
+                () -> assertEquals(500.0, contaDestino.getSaldo()),
+                () -> assertTrue(contaOrigem.getTransacoes().isEmpty())
+        );
+    }
+
+    @Test
+    @DisplayName("Não deve alocar memória ao recusar transferências")
+    void naoDeveAlocarNasRecusas(){
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+        ContaBancaria poupanca = new ContaPoupanca("789", "003", "1010", 0.0);
+        int recusas = 0;
+        for (int i = 0; i < 20_000; i++) {
+            if(poupanca.tentarTransferir(50.0, contaDestino) != ResultadoOperacao.OK) recusas++;
+        }
+
+        long antes = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 20_000; i++) {
+            if(poupanca.tentarTransferir(50.0, contaDestino) != ResultadoOperacao.OK) recusas++;
+            if(contaOrigem.tentarTransferir(0.0, contaDestino) != ResultadoOperacao.OK) recusas++;
+        }
+        long bytes = threads.getCurrentThreadAllocatedBytes() - antes;
+
+        assertEquals(60_000, recusas);
+        // folga para alocações pontuais do próprio runtime; um ID por recusa passaria de 3 MB
+        assertTrue(bytes < 64 * 1024, "Bytes alocados nas recusas: " + bytes);
+    }
+
+    @Test
+    @DisplayName("Deve efetivar operações aceitas e manter as mensagens da API com exceções")
+    void deveEfetivarEManterMensagens(){
+        assertEquals(ResultadoOperacao.OK, contaOrigem.tentarTransferir(250.0, contaDestino));
+
+        InsufficientFundsException limite = assertThrows(InsufficientFundsException.class, () -> contaOrigem.sacar(5000.0));
+        IllegalArgumentException auto = assertThrows(IllegalArgumentException.class, () -> contaOrigem.transferir(1.0, contaOrigem));
+        IllegalArgumentException deposito = assertThrows(IllegalArgumentException.class, () -> contaOrigem.depositar(-1.0));
+        assertAll("Efeito e mensagens",
+                () -> assertEquals(750.0, contaOrigem.getSaldo()),
+                () -> assertEquals(750.0, contaDestino.getSaldo()),
+                () -> assertEquals("Saldo e Limites excedidos!", limite.getMessage()),
+                () -> assertEquals("Uma conta não pode transferir valores para si mesma.", auto.getMessage()),
+                () -> assertEquals("O valor do depósito deve ser positivo.", deposito.getMessage())
+        );
+    }
+
     @Test
     @DisplayName("Data API: Deve filtrar transações por tipo e intervalo temporal")
     void deveFiltrarTransacoesCorretamente() {
@@ -0,0 +1,113 @@
+package com.ledgerflow.model;
+
+import com.ledgerflow.enums.TipoTransacao;
+import com.ledgerflow.exceptions.InsufficientFundsException;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Conta em Modo Quente (Créditos Listrados)")
+class ContaQuenteTest {
+
+    private ContaBancaria lojista;
+    private List<ContaBancaria> remetentes;
+
+    @BeforeEach
+    void setup(){
+        lojista = new ContaCorrente("lojista", "L-1", "0001", 0.0);
+        lojista.ativarModoQuente(8);
+        remetentes = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            remetentes.add(new ContaCorrente("cpf" + i, "n" + i, "0001", 10_000.0));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve somar exatamente os créditos concorrentes e mesclar o histórico na leitura")
+    void deveSomarCreditosConcorrentes() throws InterruptedException{
+        List<Thread> threads = new ArrayList<>();
+        for (ContaBancaria remetente : remetentes) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    remetente.transferir(10.0, lojista);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread t : threads) {
+            t.join();
+        }
+
+        assertAll("Créditos listrados",
+                () -> assertEquals(40_000.0, lojista.getSaldo()),
+                () -> assertEquals(8_000, lojista.getTransacoes().size()),
+                () -> assertEquals(4_000, lojista.buscarExtratoInteligente(TipoTransacao.PIX, null, null).size()),
+                () -> assertEquals(5_000.0, remetentes.get(0).getSaldo())
+        );
+    }
+
+    @Test
+    @DisplayName("Deve debitar de forma exata considerando créditos ainda não consolidados")
+    void deveDebitarComCreditosPendentes(){
+        remetentes.get(0).transferir(300.0, lojista);
+        lojista.depositar(200.0);
+
+        assertThrows(InsufficientFundsException.class, () -> lojista.sacar(500.01));
+        lojista.sacar(500.0);
+
+        assertAll("Débito exato",
+                () -> assertEquals(0.0, lojista.getSaldo()),
+                () -> assertEquals(TipoTransacao.SAQUE, lojista.getTransacoes().get(3).getTipo())
+        );
+    }
+
+    @Test
+    @DisplayName("Snapshots devem conservar o total com créditos listrados e débitos concorrentes")
+    void deveManterSnapshotsConsistentes() throws InterruptedException{
+        List<ContaBancaria> todas = new ArrayList<>(remetentes);
+        todas.add(lojista);
+        AtomicBoolean rodando = new AtomicBoolean(true);
+        List<Thread> escritores = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread escritor = new Thread(() -> {
+                ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                while(rodando.get()){
+                    ContaBancaria origem = rnd.nextInt(10) == 0 ? lojista : remetentes.get(rnd.nextInt(remetentes.size()));
+                    ContaBancaria destino = origem == lojista ? remetentes.get(rnd.nextInt(remetentes.size())) : lojista;
+                    try{
+                        origem.transferir(1 + rnd.nextInt(50), destino);
+                    }
+                    catch(InsufficientFundsException e){
+                        // rejeições fazem parte da carga
+                    }
+                }
+            });
+            escritores.add(escritor);
+            escritor.start();
+        }
+
+        try{
+            for (int i = 0; i < 2_000; i++) {
+                assertEquals(80_000.0, SnapshotSaldos.capturar(todas).getTotal(), "Total inconsistente no snapshot");
+            }
+        }
+        finally{
+            rodando.set(false);
+            for (Thread escritor : escritores) {
+                escritor.join();
+            }
+        }
+
+        lojista.desativarModoQuente();
+        double soma = todas.stream().mapToDouble(ContaBancaria::getSaldo).sum();
+        assertAll("Após desativar",
+                () -> assertFalse(lojista.isModoQuente()),
+                () -> assertEquals(80_000.0, soma)
+        );
+    }
+}
@@ -0,0 +1,98 @@
+package com.ledgerflow.model;
+
+import com.ledgerflow.exceptions.InsufficientFundsException;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Leituras Consistentes Multi-conta (MVCC)")
+class SnapshotSaldosTest {
+
+    private List<ContaBancaria> contas;
+
+    @BeforeEach
+    void setup(){
+        contas = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            contas.add(new ContaCorrente("cpf" + (i % 5), "n" + i, i < 10 ? "0001" : "0002", 1000.0));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve manter os valores do snapshot mesmo após novas escritas")
+    void deveIsolarSnapshotDeEscritasPosteriores(){
+        SnapshotSaldos antes = SnapshotSaldos.capturar(contas);
+
+        contas.get(0).transferir(300.0, contas.get(1));
+        contas.get(2).depositar(50.0);
+
+        SnapshotSaldos depois = SnapshotSaldos.capturar(contas);
+        assertAll("Isolamento entre versões",
+                () -> assertEquals(1000.0, antes.getSaldo(contas.get(0))),
+                () -> assertEquals(1000.0, antes.getSaldo(contas.get(1))),
+                () -> assertEquals(700.0, depois.getSaldo(contas.get(0))),
+                () -> assertEquals(1300.0, depois.getSaldo(contas.get(1))),
+                () -> assertTrue(depois.getVersao() > antes.getVersao())
+        );
+    }
+
+    @Test
+    @DisplayName("Deve consolidar totais por agência e por titular")
+    void deveAgregarPorAgenciaETitular(){
+        contas.get(0).transferir(250.0, contas.get(15));
+
+        SnapshotSaldos snapshot = SnapshotSaldos.capturar(contas);
+        Map<String, Double> porAgencia = snapshot.totalPorAgencia();
+
+        assertAll("Agregações",
+                () -> assertEquals(9750.0, porAgencia.get("0001")),
+                () -> assertEquals(10250.0, porAgencia.get("0002")),
+                () -> assertEquals(4000.0, snapshot.totalPorTitular().get("cpf0")),
+                () -> assertEquals(20000.0, snapshot.getTotal())
+        );
+    }
+
+    @Test
+    @DisplayName("Nunca deve observar transferência pela metade sob escrita concorrente")
+    void deveConservarTotalSobConcorrencia() throws InterruptedException{
+        AtomicBoolean rodando = new AtomicBoolean(true);
+        List<Thread> escritores = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread escritor = new Thread(() -> {
+                ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                while(rodando.get()){
+                    ContaBancaria origem = contas.get(rnd.nextInt(contas.size()));
+                    ContaBancaria destino = contas.get(rnd.nextInt(contas.size()));
+                    try{
+                        origem.transferir(1 + rnd.nextInt(200), destino);
+                    }
+                    catch(InsufficientFundsException | IllegalArgumentException e){
+                        // rejeições fazem parte da carga
+                    }
+                }
+            });
+            escritores.add(escritor);
+            escritor.start();
+        }
+
+        try{
+            for (int i = 0; i < 2_000; i++) {
+                assertEquals(20000.0, SnapshotSaldos.capturar(contas).getTotal(), "Total inconsistente no snapshot");
+            }
+        }
+        finally{
+            rodando.set(false);
+            for (Thread escritor : escritores) {
+                escritor.join();
+            }
+        }
+        double soma = contas.stream().mapToDouble(ContaBancaria::getSaldo).sum();
+        assertEquals(20000.0, soma);
+    }
+}
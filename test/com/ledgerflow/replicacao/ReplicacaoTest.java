@@ -0,0 +1,163 @@
+package com.ledgerflow.replicacao;
+
+import com.ledgerflow.carga.GeradorPopulacao;
+import com.ledgerflow.enums.ResultadoOperacao;
+import com.ledgerflow.model.ContaBancaria;
+import com.ledgerflow.model.SnapshotSaldos;
+import com.ledgerflow.model.Transacao;
+import com.ledgerflow.repositorio.RepositorioContas;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Replicação para Standby Quente")
+class ReplicacaoTest {
+
+    private RepositorioContas primario;
+    private List<ContaBancaria> contas;
+    private ServidorStandby standby;
+
+    @BeforeEach
+    void setup() throws IOException{
+        primario = GeradorPopulacao.gerar(200, 11L);
+        contas = primario.getContas();
+        // histórico anterior à vinculação deve ir junto com o estado inicial
+        for (int i = 0; i < 400; i++) {
+            contas.get(i % contas.size()).tentarTransferir(1.0, contas.get((i * 7 + 3) % contas.size()));
+        }
+        contas.get(0).ativarModoQuente(4);
+        standby = new ServidorStandby(0);
+    }
+
+    @Test
+    @DisplayName("Standby promovido deve ter os mesmos saldos e históricos do primário")
+    void devePromoverComEstadoIgual() throws Exception{
+        try (ReplicadorPrimario replicador = new ReplicadorPrimario(primario, "localhost", standby.getPorta())) {
+            executarCarga(4, 2_000, true);
+            assertTrue(replicador.aguardarConfirmacao(Duration.ofSeconds(30)));
+            assertNull(replicador.getFalha());
+        }
+        RepositorioContas promovido = standby.promover();
+
+        assertNull(standby.getFalha());
+        assertEquals(contas.size(), promovido.tamanho());
+        for (ContaBancaria original : contas) {
+            ContaBancaria copia = promovido.buscarPorNumero(original.getNumero());
+            // a conta quente mescla as células por data/hora na consolidação, enquanto o standby
+            // anexa na ordem dos commits: ali só o conjunto de transações é comparável
+            List<String> esperados = original.isModoQuente() ? ordenados(ids(original.getTransacoes())) : ids(original.getTransacoes());
+            List<String> replicados = original.isModoQuente() ? ordenados(ids(copia.getTransacoes())) : ids(copia.getTransacoes());
+            assertAll("Conta " + original.getNumero(),
+                    () -> assertEquals(original.getSaldo(), copia.getSaldo(), 1e-6),
+                    () -> assertEquals(esperados, replicados),
+                    () -> assertEquals(original.getTipoConta(), copia.getTipoConta())
+            );
+        }
+        primario.getContasPorChavePix().forEach((chave, conta) -> assertAll("Chave " + chave,
+                () -> assertEquals(conta.getNumero(), promovido.buscarPorChavePix(chave).getNumero()),
+                () -> assertEquals(primario.buscarTipoChavePix(chave), promovido.buscarTipoChavePix(chave))
+        ));
+    }
+
+    @Test
+    @DisplayName("Snapshots lidos no standby durante a replicação devem conservar o total")
+    void deveManterStandbyConsistente() throws Exception{
+        double total = contas.stream().mapToDouble(ContaBancaria::getSaldo).sum();
+        try (ReplicadorPrimario replicador = new ReplicadorPrimario(primario, "localhost", standby.getPorta())) {
+            assertTrue(replicador.aguardarConfirmacao(Duration.ofSeconds(30)));
+            List<ContaBancaria> replicadas = standby.getRepositorio().getContas();
+
+            AtomicBoolean rodando = new AtomicBoolean(true);
+            Thread carga = new Thread(() -> {
+                while(rodando.get()){
+                    executarCarga(1, 200, false);
+                }
+            });
+            carga.start();
+            try{
+                for (int i = 0; i < 500; i++) {
+                    assertEquals(total, SnapshotSaldos.capturar(replicadas).getTotal(), 1e-6, "Total inconsistente no standby");
+                }
+            }
+            finally{
+                rodando.set(false);
+                carga.join();
+            }
+            assertTrue(replicador.aguardarConfirmacao(Duration.ofSeconds(30)));
+            assertEquals(replicador.getUltimoLsn(), standby.getLsnAplicado());
+            assertTrue(replicador.getAtrasos().getTotal() > 0);
+        }
+        standby.promover();
+    }
+
+    @Test
+    @DisplayName("Standby que para de confirmar não deve congelar as escritas do primário")
+    void deveSeguirSemReplicacaoComStandbyTravado() throws Exception{
+        standby.promover();
+        try (ServerSocket travado = new ServerSocket(0)) {
+            // a conexão se completa pela fila do servidor; o standby aceita e nunca lê nem confirma
+            ReplicadorPrimario replicador = new ReplicadorPrimario(primario, "localhost", travado.getLocalPort(),
+                    16, Duration.ofMillis(200));
+            try (Socket conexao = travado.accept()) {
+                assertTimeoutPreemptively(Duration.ofSeconds(20), () -> {
+                    executarCarga(2, 5_000, true);
+                    replicador.close();
+                });
+
+                assertAll("Degradação sem replicação",
+                        () -> assertNotNull(replicador.getFalha()),
+                        () -> assertTrue(replicador.getDescartados() > 0),
+                        () -> assertEquals(0, replicador.getLsnConfirmado()),
+                        () -> assertTrue(conexao.getInputStream().available() > 0, "o primário enviou e ninguém leu"),
+                        () -> assertEquals(ResultadoOperacao.OK, contas.get(1).tentarDepositar(1.0))
+                );
+            }
+        }
+    }
+
+    // transferências aleatórias (metade para a conta quente) e, opcionalmente, depósitos e saques
+    private void executarCarga(int threads, int operacoes, boolean comDepositos){
+        List<Thread> escritores = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            escritores.add(new Thread(() -> {
+                ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                for (int i = 0; i < operacoes; i++) {
+                    ContaBancaria origem = contas.get(1 + rnd.nextInt(contas.size() - 1));
+                    ContaBancaria destino = rnd.nextBoolean() ? contas.get(0) : contas.get(rnd.nextInt(contas.size()));
+                    origem.tentarTransferir(1 + rnd.nextInt(20), destino);
+                    if(comDepositos && i % 10 == 0){
+                        origem.tentarDepositar(5.0);
+                        contas.get(0).tentarSacar(2.0);
+                    }
+                }
+            }));
+        }
+        escritores.forEach(Thread::start);
+        for (Thread escritor : escritores) {
+            try{
+                escritor.join();
+            }
+            catch(InterruptedException e){
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static List<String> ids(List<Transacao> transacoes){
+        return transacoes.stream().map(Transacao::getId).toList();
+    }
+
+    private static List<String> ordenados(List<String> ids){
+        return ids.stream().sorted().toList();
+    }
+}